@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version.benchmark;
+
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionCodec;
+import com.evilco.version.VersionParserException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary codec against string exports and parsing.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class CodecBenchmark {
+
+	/**
+	 * Stores the version corpus.
+	 */
+	private SimpleVersion[] versions;
+
+	/**
+	 * Stores the string representations of the corpus.
+	 */
+	private String[] strings;
+
+	/**
+	 * Stores the binary representations of the corpus.
+	 */
+	private ByteBuffer[] encoded;
+
+	/**
+	 * Stores the output buffer.
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 * Stores the current corpus index.
+	 */
+	private int index;
+
+	/**
+	 * Prepares the corpus.
+	 */
+	@Setup
+	public void setup () {
+		this.versions = VersionCorpus.createVersions ();
+		this.strings = new String[this.versions.length];
+		this.encoded = new ByteBuffer[this.versions.length];
+		this.buffer = ByteBuffer.allocate (64);
+
+		for (int i = 0; i < this.versions.length; i++) {
+			this.strings[i] = this.versions[i].toString ();
+			this.encoded[i] = VersionCodec.write (this.versions[i], ByteBuffer.allocate (VersionCodec.getEncodedLength (this.versions[i])));
+			this.encoded[i].flip ();
+		}
+	}
+
+	/**
+	 * Decodes a binary version.
+	 * @return The version.
+	 */
+	@Benchmark
+	public SimpleVersion decode () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+		return VersionCodec.readVersion (this.encoded[this.index].duplicate ());
+	}
+
+	/**
+	 * Parses a string version (previous transport format).
+	 * @return The version.
+	 * @throws VersionParserException
+	 */
+	@Benchmark
+	public SimpleVersion parse () throws VersionParserException {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+		return new SimpleVersion (this.strings[this.index]);
+	}
+
+	/**
+	 * Encodes a binary version.
+	 * @return The buffer.
+	 */
+	@Benchmark
+	public ByteBuffer encode () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+		this.buffer.clear ();
+		return VersionCodec.write (this.versions[this.index], this.buffer);
+	}
+}
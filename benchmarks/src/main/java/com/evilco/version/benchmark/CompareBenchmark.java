@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version.benchmark;
+
+import com.evilco.version.SimpleVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures version comparisons and exports.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class CompareBenchmark {
+
+	/**
+	 * Stores the versions.
+	 */
+	private SimpleVersion[] versions;
+
+	/**
+	 * Stores the current index.
+	 */
+	private int index;
+
+	/**
+	 * Prepares the versions.
+	 */
+	@Setup
+	public void setup () {
+		this.versions = VersionCorpus.createVersions ();
+	}
+
+	/**
+	 * Advances to the next version.
+	 * @return The current index.
+	 */
+	private int next () {
+		return (this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1)));
+	}
+
+	/**
+	 * Measures {@link SimpleVersion#newer(SimpleVersion)}.
+	 * @return The result.
+	 */
+	@Benchmark
+	public boolean newer () {
+		int index = this.next ();
+		return this.versions[index].newer (this.versions[((index + 1) & (VersionCorpus.SIZE - 1))]);
+	}
+
+	/**
+	 * Measures {@link SimpleVersion#older(SimpleVersion)}.
+	 * @return The result.
+	 */
+	@Benchmark
+	public boolean older () {
+		int index = this.next ();
+		return this.versions[index].older (this.versions[((index + 1) & (VersionCorpus.SIZE - 1))]);
+	}
+
+	/**
+	 * Measures {@link SimpleVersion#equals(Object)}.
+	 * @return The result.
+	 */
+	@Benchmark
+	public boolean equals () {
+		int index = this.next ();
+		return this.versions[index].equals (this.versions[((index + 1) & (VersionCorpus.SIZE - 1))]);
+	}
+
+	/**
+	 * Measures {@link SimpleVersion#toString()}.
+	 * @return The result.
+	 */
+	@Benchmark
+	public String export () {
+		return this.versions[this.next ()].toString ();
+	}
+}
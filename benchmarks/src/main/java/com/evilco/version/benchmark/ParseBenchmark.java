@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version.benchmark;
+
+import com.evilco.version.LazyVersion;
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionParseResult;
+import com.evilco.version.VersionParserException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the version parser.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+
+	/**
+	 * Defines the corpus kind.
+	 */
+	@Param ({ "plain", "fourPart", "snapshot", "releaseCandidate", "malformed", "mixed" })
+	public String kind;
+
+	/**
+	 * Stores the corpus.
+	 */
+	private String[] corpus;
+
+	/**
+	 * Stores the current corpus index.
+	 */
+	private int index;
+
+	/**
+	 * Prepares the corpus.
+	 */
+	@Setup
+	public void setup () {
+		this.corpus = VersionCorpus.createStrings (this.kind);
+	}
+
+	/**
+	 * Parses a version using the constructor.
+	 * @return The version (or null for malformed versions).
+	 */
+	@Benchmark
+	public SimpleVersion parse () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+
+		try {
+			return new SimpleVersion (this.corpus[this.index]);
+		} catch (VersionParserException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Parses a version without exceptions.
+	 * @return The result.
+	 */
+	@Benchmark
+	public VersionParseResult tryParse () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+		return SimpleVersion.tryParse (this.corpus[this.index]);
+	}
+
+	/**
+	 * Parses a version lazily and reads its major version (the counterpart of {@link #parse()}).
+	 * @return The major version (or -1 for malformed versions).
+	 */
+	@Benchmark
+	public int lazy () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+
+		try {
+			return new LazyVersion (this.corpus[this.index]).getMajor ();
+		} catch (VersionParserException ex) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version.benchmark;
+
+import com.evilco.version.VersionGrammar;
+import com.evilco.version.VersionQualifier;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the qualifier lookup table against the previous (upper case copy and list search) classification.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class QualifierBenchmark {
+
+	/**
+	 * Defines the extra bits the corpus is built from (mixed qualifiers, cases and unknown names).
+	 */
+	private static final String[] EXTRA_BITS = { "SNAPSHOT", "snapshot", "RC-1", "rc-12", "ALPHA", "a-2", "BETA-3", "b", "FINAL", "GA", "Beta-1", "M1" };
+
+	/**
+	 * Defines the alpha names.
+	 */
+	private static final List<String> ALPHA = ImmutableList.of ("ALPHA", "A");
+
+	/**
+	 * Defines the beta names.
+	 */
+	private static final List<String> BETA = ImmutableList.of ("BETA", "B");
+
+	/**
+	 * Defines the release candidate names.
+	 */
+	private static final List<String> RELEASE_CANDIDATE = ImmutableList.of ("RC");
+
+	/**
+	 * Defines the snapshot names.
+	 */
+	private static final List<String> SNAPSHOT = ImmutableList.of ("SNAPSHOT");
+
+	/**
+	 * Stores the corpus.
+	 */
+	private String[] corpus;
+
+	/**
+	 * Stores the current corpus index.
+	 */
+	private int index;
+
+	/**
+	 * Prepares the corpus.
+	 */
+	@Setup
+	public void setup () {
+		Random random = new Random (42);
+		this.corpus = new String[VersionCorpus.SIZE];
+
+		for (int i = 0; i < this.corpus.length; i++) {
+			this.corpus[i] = EXTRA_BITS[random.nextInt (EXTRA_BITS.length)];
+		}
+	}
+
+	/**
+	 * Classifies an extra bit through the grammar lookup table.
+	 * @return The qualifier kind.
+	 */
+	@Benchmark
+	public VersionQualifier lookupTable () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+		return VersionGrammar.DEFAULT.getQualifier (this.corpus[this.index]);
+	}
+
+	/**
+	 * Classifies an extra bit by searching an upper case copy in all name lists (previous implementation).
+	 * @return The qualifier kind.
+	 */
+	@Benchmark
+	public VersionQualifier listSearch () {
+		this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1));
+		String extraBit = this.corpus[this.index];
+
+		// strip unstable version
+		int separatorPosition = extraBit.indexOf ("-");
+		String extraBitStripped = (separatorPosition == -1 ? extraBit : extraBit.substring (0, separatorPosition)).toUpperCase ();
+
+		// find matching list
+		if (ALPHA.contains (extraBitStripped)) return VersionQualifier.ALPHA;
+		if (BETA.contains (extraBitStripped)) return VersionQualifier.BETA;
+		if (RELEASE_CANDIDATE.contains (extraBitStripped)) return VersionQualifier.RELEASE_CANDIDATE;
+		if (SNAPSHOT.contains (extraBitStripped)) return VersionQualifier.SNAPSHOT;
+		return VersionQualifier.STABLE;
+	}
+}
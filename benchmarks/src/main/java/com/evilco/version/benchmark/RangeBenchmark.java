@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version.benchmark;
+
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionRangeMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the range parser and range matching.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class RangeBenchmark {
+
+	/**
+	 * Defines the range strings.
+	 */
+	private static final String[] RANGES = new String[] { "[1.0,2.0)", "(1.2.3, 2.0.0]", "[2.0-RC-1,3.0]", "1.5", "[0.5.0,4.1.0)", "(3.0,3.5)", "[1.0.0-SNAPSHOT,1.0.0]", "2.0.0.1" };
+
+	/**
+	 * Stores the parsed ranges.
+	 */
+	private SimpleVersionRange[] ranges;
+
+	/**
+	 * Stores the compiled ranges.
+	 */
+	private VersionRangeMatcher[] matchers;
+
+	/**
+	 * Stores the versions.
+	 */
+	private SimpleVersion[] versions;
+
+	/**
+	 * Stores the current index.
+	 */
+	private int index;
+
+	/**
+	 * Prepares the ranges and versions.
+	 * @throws VersionParserException
+	 */
+	@Setup
+	public void setup () throws VersionParserException {
+		this.ranges = new SimpleVersionRange[RANGES.length];
+		this.matchers = new VersionRangeMatcher[RANGES.length];
+
+		for (int i = 0; i < RANGES.length; i++) {
+			this.ranges[i] = new SimpleVersionRange (RANGES[i]);
+			this.matchers[i] = this.ranges[i].compile ();
+		}
+
+		this.versions = VersionCorpus.createVersions ();
+	}
+
+	/**
+	 * Advances to the next version.
+	 * @return The current index.
+	 */
+	private int next () {
+		return (this.index = ((this.index + 1) & (VersionCorpus.SIZE - 1)));
+	}
+
+	/**
+	 * Measures {@link SimpleVersionRange#SimpleVersionRange(String)}.
+	 * @return The range.
+	 * @throws VersionParserException
+	 */
+	@Benchmark
+	public SimpleVersionRange parse () throws VersionParserException {
+		return new SimpleVersionRange (RANGES[(this.next () & (RANGES.length - 1))]);
+	}
+
+	/**
+	 * Measures {@link SimpleVersionRange#isInRange(SimpleVersion)}.
+	 * @return The result.
+	 */
+	@Benchmark
+	public boolean isInRange () {
+		int index = this.next ();
+		return this.ranges[(index & (RANGES.length - 1))].isInRange (this.versions[index]);
+	}
+
+	/**
+	 * Measures {@link VersionRangeMatcher#matches(SimpleVersion)}.
+	 * @return The result.
+	 */
+	@Benchmark
+	public boolean matches () {
+		int index = this.next ();
+		return this.matchers[(index & (RANGES.length - 1))].matches (this.versions[index]);
+	}
+}
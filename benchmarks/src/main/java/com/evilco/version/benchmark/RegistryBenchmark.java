@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version.benchmark;
+
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures concurrent range queries (seven readers) while versions are published and retracted (one writer).
+ * Compares the copy-on-write registry against a map which is guarded by a single global lock (previous approach).
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Group)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class RegistryBenchmark {
+
+	/**
+	 * Defines the amount of artifacts (must be a power of two).
+	 */
+	private static final int ARTIFACTS = 1024;
+
+	/**
+	 * Defines the amount of versions per artifact.
+	 */
+	private static final int VERSIONS = 64;
+
+	/**
+	 * Stores the registry.
+	 */
+	private VersionRegistry<Integer> registry;
+
+	/**
+	 * Stores the locked map.
+	 */
+	private Map<Integer, TreeSet<SimpleVersion>> locked;
+
+	/**
+	 * Stores the query ranges (one per artifact).
+	 */
+	private SimpleVersionRange[] ranges;
+
+	/**
+	 * Stores the versions which are published and retracted by the writer.
+	 */
+	private SimpleVersion[] updates;
+
+	/**
+	 * Prepares the registries.
+	 * @throws VersionParserException
+	 */
+	@Setup
+	public void setup () throws VersionParserException {
+		Random random = new Random (42);
+		SimpleVersion[] corpus = VersionCorpus.createVersions ();
+
+		this.registry = new VersionRegistry<Integer> ();
+		this.locked = new HashMap<Integer, TreeSet<SimpleVersion>> ();
+		this.ranges = new SimpleVersionRange[ARTIFACTS];
+		this.updates = corpus;
+
+		for (int i = 0; i < ARTIFACTS; i++) {
+			TreeSet<SimpleVersion> versions = new TreeSet<SimpleVersion> ();
+
+			for (int j = 0; j < VERSIONS; j++) {
+				SimpleVersion version = corpus[random.nextInt (corpus.length)];
+				versions.add (version);
+				this.registry.publish (i, version);
+			}
+
+			this.locked.put (i, versions);
+
+			// select a range
+			SimpleVersion floor = corpus[random.nextInt (corpus.length)];
+			SimpleVersion ceiling = corpus[random.nextInt (corpus.length)];
+			if (floor.newer (ceiling)) ceiling = null;
+
+			this.ranges[i] = new SimpleVersionRange (floor, true, ceiling, false);
+		}
+	}
+
+	/**
+	 * Queries the registry.
+	 * @param cursor The thread cursor.
+	 * @return The version.
+	 */
+	@Benchmark
+	@Group ("registry")
+	@GroupThreads (7)
+	public SimpleVersion registryRead (Cursor cursor) {
+		int artifact = cursor.next ();
+		return this.registry.getLatest (artifact, this.ranges[artifact], true);
+	}
+
+	/**
+	 * Publishes or retracts a version in the registry.
+	 * @param cursor The thread cursor.
+	 * @return True if the registry changed.
+	 */
+	@Benchmark
+	@Group ("registry")
+	@GroupThreads (1)
+	public boolean registryWrite (Cursor cursor) {
+		int artifact = cursor.next ();
+		SimpleVersion version = this.updates[artifact];
+
+		if (!this.registry.publish (artifact, version)) return this.registry.retract (artifact, version);
+		return true;
+	}
+
+	/**
+	 * Queries the locked map.
+	 * @param cursor The thread cursor.
+	 * @return The version.
+	 */
+	@Benchmark
+	@Group ("locked")
+	@GroupThreads (7)
+	public SimpleVersion lockedRead (Cursor cursor) {
+		int artifact = cursor.next ();
+		SimpleVersionRange range = this.ranges[artifact];
+
+		synchronized (this.locked) {
+			for (SimpleVersion version : this.locked.get (artifact).descendingSet ()) {
+				if (!version.isUnstableBuild () && range.isInRange (version)) return version;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Publishes or retracts a version in the locked map.
+	 * @param cursor The thread cursor.
+	 * @return True if the map changed.
+	 */
+	@Benchmark
+	@Group ("locked")
+	@GroupThreads (1)
+	public boolean lockedWrite (Cursor cursor) {
+		int artifact = cursor.next ();
+		SimpleVersion version = this.updates[artifact];
+
+		synchronized (this.locked) {
+			TreeSet<SimpleVersion> versions = this.locked.get (artifact);
+			if (!versions.add (version)) return versions.remove (version);
+			return true;
+		}
+	}
+
+	/**
+	 * Stores the artifact cursor of a single thread.
+	 */
+	@State (Scope.Thread)
+	public static class Cursor {
+
+		/**
+		 * Stores the random number generator.
+		 */
+		private final Random random = new Random ();
+
+		/**
+		 * Selects the next artifact.
+		 * @return The artifact.
+		 */
+		public int next () {
+			return (this.random.nextInt () & (ARTIFACTS - 1));
+		}
+	}
+}
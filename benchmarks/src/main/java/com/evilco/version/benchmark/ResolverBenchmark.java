@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version.benchmark;
+
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batch resolver against a nested loop over all available versions.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+public class ResolverBenchmark {
+
+	/**
+	 * Defines the amount of artifacts.
+	 */
+	private static final int ARTIFACTS = 10000;
+
+	/**
+	 * Defines the amount of versions per artifact.
+	 */
+	private static final int VERSIONS = 64;
+
+	/**
+	 * Stores the available versions of each artifact.
+	 */
+	private Map<Integer, List<SimpleVersion>> versions;
+
+	/**
+	 * Stores the range of each artifact.
+	 */
+	private Map<Integer, SimpleVersionRange> ranges;
+
+	/**
+	 * Stores the resolver.
+	 */
+	private VersionResolver<Integer> resolver;
+
+	/**
+	 * Prepares the artifacts.
+	 * @throws VersionParserException
+	 */
+	@Setup
+	public void setup () throws VersionParserException {
+		Random random = new Random (42);
+		SimpleVersion[] corpus = VersionCorpus.createVersions ();
+
+		this.versions = new HashMap<Integer, List<SimpleVersion>> ();
+		this.ranges = new HashMap<Integer, SimpleVersionRange> ();
+
+		for (int i = 0; i < ARTIFACTS; i++) {
+			List<SimpleVersion> available = new ArrayList<SimpleVersion> (VERSIONS);
+			for (int j = 0; j < VERSIONS; j++) available.add (corpus[random.nextInt (corpus.length)]);
+			this.versions.put (i, available);
+
+			// select a range
+			SimpleVersion floor = corpus[random.nextInt (corpus.length)];
+			SimpleVersion ceiling = corpus[random.nextInt (corpus.length)];
+			if (floor.newer (ceiling)) ceiling = null;
+
+			this.ranges.put (i, new SimpleVersionRange (floor, true, ceiling, false));
+		}
+
+		this.resolver = new VersionResolver<Integer> (this.versions);
+	}
+
+	/**
+	 * Resolves all artifacts through the resolver.
+	 * @return The resolved versions.
+	 */
+	@Benchmark
+	public Map<Integer, SimpleVersion> resolver () {
+		return this.resolver.resolve (this.ranges, true);
+	}
+
+	/**
+	 * Resolves all artifacts through a nested loop (previous approach).
+	 * @return The resolved versions.
+	 */
+	@Benchmark
+	public Map<Integer, SimpleVersion> nestedLoop () {
+		Map<Integer, SimpleVersion> result = new HashMap<Integer, SimpleVersion> ();
+
+		for (Map.Entry<Integer, SimpleVersionRange> entry : this.ranges.entrySet ()) {
+			SimpleVersion newest = null;
+
+			for (SimpleVersion version : this.versions.get (entry.getKey ())) {
+				if (version.isUnstableBuild () || !entry.getValue ().isInRange (version)) continue;
+				if (newest == null || version.newer (newest)) newest = version;
+			}
+
+			if (newest != null) result.put (entry.getKey (), newest);
+		}
+
+		return result;
+	}
+}
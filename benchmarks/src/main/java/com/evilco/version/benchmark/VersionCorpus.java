@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version.benchmark;
+
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionParserException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Provides reproducible version corpora for benchmarks.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionCorpus {
+
+	/**
+	 * Defines the corpus size (must be a power of two).
+	 */
+	public static final int SIZE = 1024;
+
+	/**
+	 * Defines the random seed.
+	 */
+	private static final long SEED = 42;
+
+	/**
+	 * Defines a set of malformed versions.
+	 */
+	private static final String[] MALFORMED = new String[] { "latest", "v1.2", "1.x", "1..2", "1.2.3 -SNAPSHOT", "", "1.2.beta" };
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private VersionCorpus () { }
+
+	/**
+	 * Creates a corpus of version strings.
+	 * @param kind The corpus kind (plain, fourPart, snapshot, releaseCandidate, malformed or mixed).
+	 * @return The corpus.
+	 */
+	public static String[] createStrings (String kind) {
+		Random random = new Random (SEED);
+		String[] corpus = new String[SIZE];
+
+		for (int i = 0; i < SIZE; i++) {
+			String currentKind = kind;
+
+			// select random kind (mixed corpora contain 10% malformed versions)
+			if ("mixed".equals (kind)) {
+				int selector = random.nextInt (10);
+				currentKind = (selector < 4 ? "plain" : (selector < 6 ? "fourPart" : (selector < 8 ? "snapshot" : (selector < 9 ? "releaseCandidate" : "malformed"))));
+			}
+
+			corpus[i] = createString (currentKind, random);
+		}
+
+		return corpus;
+	}
+
+	/**
+	 * Creates a corpus of valid versions.
+	 * @return The corpus.
+	 */
+	public static SimpleVersion[] createVersions () {
+		String[] strings = createStrings ("mixed");
+		List<SimpleVersion> versions = new ArrayList<> ();
+
+		for (int i = 0; versions.size () < SIZE; i = ((i + 1) & (SIZE - 1))) {
+			try {
+				versions.add (new SimpleVersion (strings[i]));
+			} catch (VersionParserException ignore) { }
+		}
+
+		return versions.toArray (new SimpleVersion[SIZE]);
+	}
+
+	/**
+	 * Creates a single version string.
+	 * @param kind The version kind.
+	 * @param random The random source.
+	 * @return The version string.
+	 */
+	private static String createString (String kind, Random random) {
+		String base = random.nextInt (5) + "." + random.nextInt (20) + "." + random.nextInt (30);
+
+		switch (kind) {
+			case "plain":
+				return base;
+			case "fourPart":
+				return base + "." + random.nextInt (500);
+			case "snapshot":
+				return base + "-SNAPSHOT";
+			case "releaseCandidate":
+				return base + "-RC-" + (random.nextInt (5) + 1);
+			case "malformed":
+				return MALFORMED[random.nextInt (MALFORMED.length)];
+			default:
+				throw new IllegalArgumentException ("Unknown corpus kind: " + kind);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides a version which defers the classification of its extra bit until it is actually needed.
+ * The input is validated upon construction (in a single, allocation free pass which also yields the numeric bits)
+ * while the extra bit, the qualifier kind, the unstable version, the hash code and the packed key are derived upon
+ * first use. Lazy versions behave exactly like (and are equal to) their eagerly parsed counterparts.
+ * Note: Derived elements are cached without synchronization. Racing threads may derive them more than once which is
+ * harmless since the cached objects are immutable.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class LazyVersion extends SimpleVersion {
+
+	/**
+	 * Stores the input (strings are retained as is, other sequences are copied).
+	 */
+	private final String source;
+
+	/**
+	 * Stores the start of the extra bit (inclusive) or -1 if the version has no extra bit.
+	 */
+	private final int extraStart;
+
+	/**
+	 * Stores the end of the extra bit (exclusive).
+	 */
+	private final int extraEnd;
+
+	/**
+	 * Stores the extra bit (extracted upon first use).
+	 */
+	private String extraCache;
+
+	/**
+	 * Stores the classification of the extra bit (computed upon first use).
+	 */
+	private Classification classification;
+
+	/**
+	 * Constructs a new LazyVersion instance.
+	 * @param version A character sequence representing the version.
+	 * @throws VersionParserException when the version is invalid.
+	 */
+	public LazyVersion (@Nonnull CharSequence version) throws VersionParserException {
+		this (Preconditions.checkNotNull (version, "version"), VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Constructs a new LazyVersion instance.
+	 * @param version A character sequence representing the version.
+	 * @param grammar The grammar.
+	 * @throws VersionParserException when the version is invalid.
+	 */
+	public LazyVersion (@Nonnull CharSequence version, @Nonnull VersionGrammar grammar) throws VersionParserException {
+		this (Preconditions.checkNotNull (version, "version"), 0, version.length (), grammar);
+	}
+
+	/**
+	 * Constructs a new LazyVersion instance.
+	 * Note: The version retains the entire sequence (or a copy of it).
+	 * @param version A character sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 * @param grammar The grammar.
+	 * @throws VersionParserException when the version is invalid.
+	 */
+	public LazyVersion (@Nonnull CharSequence version, int start, int end, @Nonnull VersionGrammar grammar) throws VersionParserException {
+		this (SimpleVersion.scan (Preconditions.checkNotNull (version, "version").toString (), start, end, grammar));
+	}
+
+	/**
+	 * Constructs a new LazyVersion instance from an accepted version.
+	 * @param scanner The scanner which accepted the version.
+	 */
+	private LazyVersion (@Nonnull VersionScanner scanner) {
+		super (scanner.grammar, scanner.majorBit, scanner.minorBit, scanner.maintenanceBit, scanner.buildBit);
+
+		this.source = ((String) scanner.source);
+		this.extraStart = scanner.extraStart;
+		this.extraEnd = scanner.extraEnd;
+	}
+
+	/**
+	 * Returns the classification of the extra bit.
+	 * @return The classification.
+	 */
+	private Classification getClassification () {
+		Classification classification = this.classification;
+		if (classification == null) this.classification = classification = new Classification (this);
+		return classification;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getExtra () {
+		if (this.extraStart == -1) return null;
+
+		String extra = this.extraCache;
+		if (extra == null) this.extraCache = extra = this.source.substring (this.extraStart, this.extraEnd);
+		return extra;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public VersionQualifier getQualifier () {
+		return this.getClassification ().qualifier;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getUnstableVersion () {
+		return this.getClassification ().unstableVersion;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	long getPackedKey () {
+		return this.getClassification ().packedKey;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode () {
+		return this.getClassification ().hash;
+	}
+
+	/**
+	 * Stores the elements derived from the extra bit.
+	 */
+	private static final class Classification {
+
+		/**
+		 * Stores the qualifier kind.
+		 */
+		private final VersionQualifier qualifier;
+
+		/**
+		 * Stores the unstable version.
+		 */
+		private final int unstableVersion;
+
+		/**
+		 * Stores the hash code.
+		 */
+		private final int hash;
+
+		/**
+		 * Stores the packed key (or {@link PackedVersion#INVALID}).
+		 */
+		private final long packedKey;
+
+		/**
+		 * Constructs a new Classification instance.
+		 * @param version The version.
+		 */
+		private Classification (@Nonnull LazyVersion version) {
+			if (version.extraStart == -1) {
+				this.qualifier = VersionQualifier.STABLE;
+				this.unstableVersion = -1;
+			} else {
+				this.qualifier = version.grammar.getQualifier (version.source, version.extraStart, version.extraEnd);
+				this.unstableVersion = version.grammar.getUnstableVersion (version.source, version.extraStart, version.extraEnd, this.qualifier);
+			}
+
+			this.hash = computeHashCode (version.majorBit, version.minorBit, version.maintenanceBit, version.buildBit, this.qualifier, this.unstableVersion);
+			this.packedKey = PackedVersion.encodeOrInvalid (version.majorBit, version.minorBit, version.maintenanceBit, version.buildBit, this.qualifier, this.unstableVersion);
+		}
+	}
+}
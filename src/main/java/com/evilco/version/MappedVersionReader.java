@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parses newline delimited version index files straight from memory mapped file contents.
+ * Each line holds a version which may be preceded by other space or tab separated fields (such as an artifact
+ * identifier). Only the last field of each line is parsed; leading and trailing ASCII whitespace is ignored. Lines which consist of ASCII characters only are parsed
+ * directly from the mapped bytes without decoding them (lines containing other characters are decoded as UTF-8 first).
+ * The grammar matches the one of {@link SimpleVersion#SimpleVersion(String)}.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class MappedVersionReader {
+
+	/**
+	 * Defines the maximum size of a single mapped region.
+	 */
+	static final long MAXIMUM_REGION_SIZE = Integer.MAX_VALUE;
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private MappedVersionReader () { }
+
+	/**
+	 * Parses an index file.
+	 * Note: Files which exceed the maximum size of a mapped buffer (2 GiB) are mapped in multiple regions which are split
+	 * at line boundaries.
+	 * @param path The file path.
+	 * @return The batch (indices correspond to line numbers, starting at zero).
+	 * @throws IOException
+	 */
+	@Nonnull
+	public static VersionBatch read (@Nonnull Path path) throws IOException {
+		return read (path, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Parses an index file.
+	 * @param path The file path.
+	 * @param grammar The grammar.
+	 * @return The batch (indices correspond to line numbers, starting at zero).
+	 * @throws IOException
+	 */
+	@Nonnull
+	public static VersionBatch read (@Nonnull Path path, @Nonnull VersionGrammar grammar) throws IOException {
+		return read (path, grammar, MAXIMUM_REGION_SIZE);
+	}
+
+	/**
+	 * Parses an index file.
+	 * @param path The file path.
+	 * @param grammar The grammar.
+	 * @param regionSize The maximum size of a mapped region.
+	 * @return The batch.
+	 * @throws IOException
+	 */
+	@Nonnull
+	static VersionBatch read (@Nonnull Path path, @Nonnull VersionGrammar grammar, long regionSize) throws IOException {
+		Preconditions.checkNotNull (path, "path");
+		Preconditions.checkArgument (regionSize > 0 && regionSize <= MAXIMUM_REGION_SIZE, "regionSize");
+
+		VersionBatch.Builder builder = new VersionBatch.Builder (16, grammar);
+
+		try (FileChannel channel = FileChannel.open (path, StandardOpenOption.READ)) {
+			long size = channel.size ();
+			long position = 0;
+
+			while (position < size) {
+				long length = Math.min (regionSize, (size - position));
+				MappedByteBuffer buffer = channel.map (FileChannel.MapMode.READ_ONLY, position, length);
+				int end = ((int) length);
+
+				// split regions at the last line break
+				if ((position + length) < size) {
+					end = (lastLineBreak (buffer, end) + 1);
+					if (end == 0) throw new IOException ("Line at offset " + position + " exceeds the maximum region size of " + regionSize + " bytes.");
+				}
+
+				readLines (buffer, 0, end, builder);
+				position += end;
+			}
+		}
+
+		return builder.build ();
+	}
+
+	/**
+	 * Parses the remaining contents of a buffer.
+	 * Note: The buffer position is not modified.
+	 * @param buffer The buffer.
+	 * @return The batch (indices correspond to line numbers, starting at zero).
+	 */
+	@Nonnull
+	public static VersionBatch read (@Nonnull ByteBuffer buffer) {
+		return read (buffer, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Parses the remaining contents of a buffer.
+	 * @param buffer The buffer.
+	 * @param grammar The grammar.
+	 * @return The batch (indices correspond to line numbers, starting at zero).
+	 */
+	@Nonnull
+	public static VersionBatch read (@Nonnull ByteBuffer buffer, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (buffer, "buffer");
+
+		VersionBatch.Builder builder = new VersionBatch.Builder (16, grammar);
+		readLines (buffer, buffer.position (), buffer.limit (), builder);
+		return builder.build ();
+	}
+
+	/**
+	 * Parses all lines within a buffer region.
+	 * @param buffer The buffer.
+	 * @param start The start of the region (inclusive).
+	 * @param end The end of the region (exclusive).
+	 * @param builder The builder.
+	 */
+	private static void readLines (@Nonnull ByteBuffer buffer, int start, int end, @Nonnull VersionBatch.Builder builder) {
+		AsciiSequence sequence = new AsciiSequence (buffer);
+		int lineStart = start;
+		int tokenStart = start;
+		int tokenEnd = start;
+		boolean ascii = true;
+
+		for (int position = start; position < end; position++) {
+			byte current = buffer.get (position);
+
+			if (current == '\n') {
+				readToken (buffer, sequence, tokenStart, tokenEnd, ascii, builder);
+
+				lineStart = (position + 1);
+				tokenStart = lineStart;
+				tokenEnd = lineStart;
+				ascii = true;
+			} else if (!isWhitespace (current)) {
+				// start a new field after whitespace
+				if (tokenEnd != position) {
+					tokenStart = position;
+					ascii = true;
+				}
+
+				tokenEnd = (position + 1);
+				if (current < 0) ascii = false;
+			}
+		}
+
+		// process last line (a trailing line break does not produce an additional entry)
+		if (lineStart < end) readToken (buffer, sequence, tokenStart, tokenEnd, ascii, builder);
+	}
+
+	/**
+	 * Parses a single version token.
+	 * @param buffer The buffer.
+	 * @param sequence The character view of the buffer.
+	 * @param start The start of the token (inclusive).
+	 * @param end The end of the token (exclusive).
+	 * @param ascii True if the token consists of ASCII characters only.
+	 * @param builder The builder.
+	 */
+	private static void readToken (@Nonnull ByteBuffer buffer, @Nonnull AsciiSequence sequence, int start, int end, boolean ascii, @Nonnull VersionBatch.Builder builder) {
+		// parse straight from the buffer whenever possible
+		if (ascii) {
+			builder.add (sequence, start, end);
+			return;
+		}
+
+		// decode other tokens
+		ByteBuffer token = buffer.duplicate ();
+		token.limit (end).position (start);
+
+		CharBuffer decoded = Charsets.UTF_8.decode (token);
+		builder.add (decoded, 0, decoded.length ());
+	}
+
+	/**
+	 * Checks whether a byte represents an ASCII whitespace character (other than a line break).
+	 * @param value The byte.
+	 * @return True if the byte is a space, tab, carriage return, form feed or vertical tab.
+	 */
+	private static boolean isWhitespace (byte value) {
+		return (value == ' ' || value == '\t' || value == '\r' || value == '\f' || value == 0x0B);
+	}
+
+	/**
+	 * Finds the last line break within a buffer.
+	 * @param buffer The buffer.
+	 * @param end The end of the searchable area (exclusive).
+	 * @return The index of the line break or -1.
+	 */
+	private static int lastLineBreak (@Nonnull ByteBuffer buffer, int end) {
+		for (int i = (end - 1); i >= 0; i--) {
+			if (buffer.get (i) == '\n') return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Provides a character view of an ASCII encoded buffer (indices correspond to absolute buffer indices).
+	 */
+	private static final class AsciiSequence implements CharSequence {
+
+		/**
+		 * Stores the buffer.
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * Constructs a new AsciiSequence instance.
+		 * @param buffer The buffer.
+		 */
+		private AsciiSequence (@Nonnull ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public char charAt (int index) {
+			return ((char) (this.buffer.get (index) & 0xFF));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int length () {
+			return this.buffer.limit ();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CharSequence subSequence (int start, int end) {
+			char[] characters = new char[(end - start)];
+			for (int i = 0; i < characters.length; i++) characters[i] = this.charAt (start + i);
+			return new String (characters);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString () {
+			return this.subSequence (0, this.length ()).toString ();
+		}
+	}
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Encodes versions into sortable 64 bit keys.
+ * The key layout (from the most significant bit) is major (12 bits), minor (12 bits), maintenance (12 bits), build
+ * (16 bits), qualifier rank (3 bits) and unstable version (9 bits). Comparing two keys as unsigned values yields the same
+ * result as {@link SimpleVersion#compareTo(SimpleVersion)} and two keys are equal if and only if their versions are
+ * equal. The all-ones key ({@link #INVALID}) is never produced for a valid version.
+ * Note: Keys do not retain the literal extra bit (e.g. "TEST" or "SNAPSHOT-2").
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class PackedVersion {
+
+	/**
+	 * Defines a key which never represents a valid version.
+	 */
+	public static final long INVALID = -1L;
+
+	/**
+	 * Defines the maximum major version bit which can be encoded.
+	 */
+	public static final int MAXIMUM_MAJOR = 0xFFF;
+
+	/**
+	 * Defines the maximum minor version bit which can be encoded.
+	 */
+	public static final int MAXIMUM_MINOR = 0xFFF;
+
+	/**
+	 * Defines the maximum maintenance version bit which can be encoded.
+	 */
+	public static final int MAXIMUM_MAINTENANCE = 0xFFF;
+
+	/**
+	 * Defines the maximum build version bit which can be encoded.
+	 */
+	public static final int MAXIMUM_BUILD = 0xFFFF;
+
+	/**
+	 * Defines the maximum unstable version which can be encoded.
+	 */
+	public static final int MAXIMUM_UNSTABLE_VERSION = 0x1FF;
+
+	/**
+	 * Defines the offset of the major version bit.
+	 */
+	private static final int MAJOR_SHIFT = 52;
+
+	/**
+	 * Defines the offset of the minor version bit.
+	 */
+	private static final int MINOR_SHIFT = 40;
+
+	/**
+	 * Defines the offset of the maintenance version bit.
+	 */
+	private static final int MAINTENANCE_SHIFT = 28;
+
+	/**
+	 * Defines the offset of the build version bit.
+	 */
+	private static final int BUILD_SHIFT = 12;
+
+	/**
+	 * Defines the offset of the qualifier rank.
+	 */
+	private static final int QUALIFIER_SHIFT = 9;
+
+	/**
+	 * Stores all qualifiers (indexed by rank).
+	 */
+	private static final VersionQualifier[] QUALIFIERS = VersionQualifier.values ();
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private PackedVersion () { }
+
+	/**
+	 * Checks whether a version can be encoded.
+	 * @param version The version.
+	 * @return True if all bits of the version are within the encodable range.
+	 */
+	public static boolean fits (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+		return (version.getPackedKey () != INVALID);
+	}
+
+	/**
+	 * Encodes a version.
+	 * @param version The version.
+	 * @return The packed key.
+	 * @throws IllegalArgumentException when the version does not fit into a key.
+	 */
+	public static long encode (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		// use cached key
+		long key = version.getPackedKey ();
+		if (key != INVALID) return key;
+
+		// report overflow
+		throw new IllegalArgumentException ("Cannot pack version " + version.toString () + ": The " + getOverflow (version) + " is out of range.");
+	}
+
+	/**
+	 * Encodes a version.
+	 * @param version The version.
+	 * @return The packed key or {@link #INVALID} if the version does not fit into a key.
+	 */
+	static long encodeOrInvalid (@Nonnull SimpleVersion version) {
+		return encodeOrInvalid (version.getMajor (), version.getMinor (), version.getMaintenance (), version.getBuild (), version.getQualifier (), version.getUnstableVersion ());
+	}
+
+	/**
+	 * Encodes a version.
+	 * @param majorBit The major version bit.
+	 * @param minorBit The minor version bit.
+	 * @param maintenanceBit The maintenance version bit.
+	 * @param buildBit The build version bit.
+	 * @param qualifier The qualifier kind.
+	 * @param unstableVersion The unstable version.
+	 * @return The packed key or {@link #INVALID} if the version does not fit into a key.
+	 */
+	static long encodeOrInvalid (int majorBit, int minorBit, int maintenanceBit, int buildBit, VersionQualifier qualifier, int unstableVersion) {
+		if (getOverflow (majorBit, minorBit, maintenanceBit, buildBit, qualifier, unstableVersion) != null) return INVALID;
+		return encodeUnchecked (majorBit, minorBit, maintenanceBit, buildBit, qualifier, unstableVersion);
+	}
+
+	/**
+	 * Encodes a version without verifying its bits.
+	 * @param majorBit The major version bit.
+	 * @param minorBit The minor version bit.
+	 * @param maintenanceBit The maintenance version bit.
+	 * @param buildBit The build version bit.
+	 * @param qualifier The qualifier kind.
+	 * @param unstableVersion The unstable version.
+	 * @return The packed key.
+	 */
+	static long encodeUnchecked (int majorBit, int minorBit, int maintenanceBit, int buildBit, VersionQualifier qualifier, int unstableVersion) {
+		// snapshots and stable builds do not carry a meaningful unstable version
+		if (qualifier == VersionQualifier.SNAPSHOT || qualifier == VersionQualifier.STABLE) unstableVersion = 0;
+
+		return ((((long) majorBit) << MAJOR_SHIFT) | (((long) minorBit) << MINOR_SHIFT) | (((long) maintenanceBit) << MAINTENANCE_SHIFT) | (((long) buildBit) << BUILD_SHIFT) | (((long) qualifier.ordinal ()) << QUALIFIER_SHIFT) | unstableVersion);
+	}
+
+	/**
+	 * Decodes a packed key.
+	 * Note: The extra bit is rebuilt from the first name of the qualifier kind (e.g. RC-2).
+	 * @param key The packed key.
+	 * @return The version.
+	 * @throws IllegalArgumentException when the key does not encode a valid qualifier kind.
+	 */
+	public static SimpleVersion decode (long key) {
+		return decode (key, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Decodes a packed key.
+	 * @param key The packed key.
+	 * @param grammar The grammar used to rebuild the extra bit.
+	 * @return The version.
+	 * @throws IllegalArgumentException when the key does not encode a valid qualifier kind.
+	 */
+	public static SimpleVersion decode (long key, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		VersionQualifier qualifier = getQualifier (key);
+		String extraBit = null;
+
+		if (qualifier.isUnstable ()) {
+			List<String> names = grammar.getQualifierNames (qualifier);
+			Preconditions.checkArgument (!names.isEmpty (), "The grammar does not define any names for qualifier %s", qualifier);
+
+			extraBit = names.get (0);
+			if (qualifier != VersionQualifier.SNAPSHOT) extraBit += grammar.getExtraSeparator () + getUnstableVersion (key);
+		}
+
+		return new SimpleVersion (getMajor (key), getMinor (key), getMaintenance (key), getBuild (key), extraBit, grammar);
+	}
+
+	/**
+	 * Compares two packed keys.
+	 * @param key1 The first key.
+	 * @param key2 The second key.
+	 * @return A negative integer, zero or a positive integer if the first key is older, equal to or newer than the second key.
+	 */
+	public static int compare (long key1, long key2) {
+		key1 += Long.MIN_VALUE;
+		key2 += Long.MIN_VALUE;
+		return (key1 < key2 ? -1 : (key1 == key2 ? 0 : 1));
+	}
+
+	/**
+	 * Returns the major version bit of a packed key.
+	 * @param key The packed key.
+	 * @return The major version bit.
+	 */
+	public static int getMajor (long key) {
+		return ((int) (key >>> MAJOR_SHIFT) & MAXIMUM_MAJOR);
+	}
+
+	/**
+	 * Returns the minor version bit of a packed key.
+	 * @param key The packed key.
+	 * @return The minor version bit.
+	 */
+	public static int getMinor (long key) {
+		return ((int) (key >>> MINOR_SHIFT) & MAXIMUM_MINOR);
+	}
+
+	/**
+	 * Returns the maintenance version bit of a packed key.
+	 * @param key The packed key.
+	 * @return The maintenance version bit.
+	 */
+	public static int getMaintenance (long key) {
+		return ((int) (key >>> MAINTENANCE_SHIFT) & MAXIMUM_MAINTENANCE);
+	}
+
+	/**
+	 * Returns the build version bit of a packed key.
+	 * @param key The packed key.
+	 * @return The build version bit.
+	 */
+	public static int getBuild (long key) {
+		return ((int) (key >>> BUILD_SHIFT) & MAXIMUM_BUILD);
+	}
+
+	/**
+	 * Returns the qualifier kind of a packed key.
+	 * @param key The packed key.
+	 * @return The qualifier kind.
+	 * @throws IllegalArgumentException when the key does not encode a valid qualifier kind.
+	 */
+	public static VersionQualifier getQualifier (long key) {
+		int rank = ((int) (key >>> QUALIFIER_SHIFT) & 0x7);
+		if (rank >= QUALIFIERS.length) throw new IllegalArgumentException ("Invalid packed key 0x" + Long.toHexString (key) + ": Unknown qualifier rank " + rank + ".");
+
+		return QUALIFIERS[rank];
+	}
+
+	/**
+	 * Returns the unstable version of a packed key.
+	 * @param key The packed key.
+	 * @return The unstable version (-1 for stable builds).
+	 */
+	public static int getUnstableVersion (long key) {
+		if (getQualifier (key) == VersionQualifier.STABLE) return -1;
+		return ((int) key & MAXIMUM_UNSTABLE_VERSION);
+	}
+
+	/**
+	 * Checks whether a packed key represents an unstable build.
+	 * @param key The packed key.
+	 * @return True if the key represents an unstable build.
+	 */
+	public static boolean isUnstableBuild (long key) {
+		return getQualifier (key).isUnstable ();
+	}
+
+	/**
+	 * Returns the name of the first bit which cannot be encoded.
+	 * @param version The version.
+	 * @return The bit name or null if the version fits.
+	 */
+	private static String getOverflow (SimpleVersion version) {
+		return getOverflow (version.getMajor (), version.getMinor (), version.getMaintenance (), version.getBuild (), version.getQualifier (), version.getUnstableVersion ());
+	}
+
+	/**
+	 * Returns the name of the first bit which cannot be encoded.
+	 * @param majorBit The major version bit.
+	 * @param minorBit The minor version bit.
+	 * @param maintenanceBit The maintenance version bit.
+	 * @param buildBit The build version bit.
+	 * @param qualifier The qualifier kind.
+	 * @param unstableVersion The unstable version.
+	 * @return The bit name or null if the version fits.
+	 */
+	private static String getOverflow (int majorBit, int minorBit, int maintenanceBit, int buildBit, VersionQualifier qualifier, int unstableVersion) {
+		if (majorBit < 0 || majorBit > MAXIMUM_MAJOR) return "major version bit";
+		if (minorBit < 0 || minorBit > MAXIMUM_MINOR) return "minor version bit";
+		if (maintenanceBit < 0 || maintenanceBit > MAXIMUM_MAINTENANCE) return "maintenance version bit";
+		if (buildBit < 0 || buildBit > MAXIMUM_BUILD) return "build version bit";
+		if (qualifier != VersionQualifier.SNAPSHOT && qualifier.isUnstable () && (unstableVersion < 0 || unstableVersion > MAXIMUM_UNSTABLE_VERSION)) return "unstable version";
+		return null;
+	}
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Provides parallel (fork-join based) operations on large version arrays.
+ * All operations produce exactly the same results as their sequential counterparts: Sorting is stable (versions which
+ * are equal keep their relative order), deduplication keeps the first of all equal versions and searches return the
+ * first of all equal candidates. Versions with packed keys are compared through their keys.
+ * Note: Arrays must not contain null elements.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class ParallelVersions {
+
+	/**
+	 * Defines the amount of elements below which work is not split any further.
+	 */
+	static final int THRESHOLD = 8192;
+
+	/**
+	 * Defines the version order.
+	 */
+	static final Comparator<SimpleVersion> ORDER = new Comparator<SimpleVersion> () {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compare (SimpleVersion version1, SimpleVersion version2) {
+			long key1 = version1.getPackedKey ();
+			long key2 = version2.getPackedKey ();
+
+			if (key1 != PackedVersion.INVALID && key2 != PackedVersion.INVALID) return PackedVersion.compare (key1, key2);
+			return version1.compareTo (version2);
+		}
+	};
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private ParallelVersions () { }
+
+	/**
+	 * Sorts an array of versions in ascending order using the default pool.
+	 * @param versions The versions.
+	 */
+	public static void sort (@Nonnull SimpleVersion[] versions) {
+		sort (versions, PoolHolder.POOL);
+	}
+
+	/**
+	 * Sorts an array of versions in ascending order.
+	 * @param versions The versions.
+	 * @param pool The pool.
+	 */
+	public static void sort (@Nonnull SimpleVersion[] versions, @Nonnull ForkJoinPool pool) {
+		Preconditions.checkNotNull (versions, "versions");
+		Preconditions.checkNotNull (pool, "pool");
+
+		// sort small arrays in place
+		if (versions.length <= THRESHOLD) {
+			Arrays.sort (versions, ORDER);
+			return;
+		}
+
+		pool.invoke (new SortTask (versions, new SimpleVersion[versions.length], 0, versions.length));
+	}
+
+	/**
+	 * Sorts and deduplicates a collection of versions using the default pool.
+	 * @param versions The versions.
+	 * @return The sorted, distinct versions.
+	 */
+	@Nonnull
+	public static SimpleVersion[] sortUnique (@Nonnull Collection<? extends SimpleVersion> versions) {
+		return sortUnique (versions, PoolHolder.POOL);
+	}
+
+	/**
+	 * Sorts and deduplicates a collection of versions.
+	 * @param versions The versions.
+	 * @param pool The pool.
+	 * @return The sorted, distinct versions.
+	 */
+	@Nonnull
+	public static SimpleVersion[] sortUnique (@Nonnull Collection<? extends SimpleVersion> versions, @Nonnull ForkJoinPool pool) {
+		Preconditions.checkNotNull (versions, "versions");
+
+		SimpleVersion[] array = versions.toArray (new SimpleVersion[versions.size ()]);
+		sort (array, pool);
+
+		// drop duplicates
+		int length = 0;
+
+		for (SimpleVersion version : array) {
+			if (length == 0 || ORDER.compare (array[length - 1], version) != 0) array[length++] = version;
+		}
+
+		return (length == array.length ? array : Arrays.copyOf (array, length));
+	}
+
+	/**
+	 * Returns the newest version using the default pool.
+	 * @param versions The versions.
+	 * @return The newest version or null (if the array is empty).
+	 */
+	@Nullable
+	public static SimpleVersion max (@Nonnull SimpleVersion[] versions) {
+		return max (versions, PoolHolder.POOL);
+	}
+
+	/**
+	 * Returns the newest version.
+	 * @param versions The versions.
+	 * @param pool The pool.
+	 * @return The newest version or null (if the array is empty).
+	 */
+	@Nullable
+	public static SimpleVersion max (@Nonnull SimpleVersion[] versions, @Nonnull ForkJoinPool pool) {
+		Preconditions.checkNotNull (versions, "versions");
+		Preconditions.checkNotNull (pool, "pool");
+
+		return pool.invoke (new MaxTask (versions, 0, versions.length, false));
+	}
+
+	/**
+	 * Returns the newest stable version using the default pool.
+	 * @param versions The versions.
+	 * @return The newest stable version or null (if the array does not contain any stable versions).
+	 */
+	@Nullable
+	public static SimpleVersion latestStable (@Nonnull SimpleVersion[] versions) {
+		return latestStable (versions, PoolHolder.POOL);
+	}
+
+	/**
+	 * Returns the newest stable version.
+	 * @param versions The versions.
+	 * @param pool The pool.
+	 * @return The newest stable version or null (if the array does not contain any stable versions).
+	 */
+	@Nullable
+	public static SimpleVersion latestStable (@Nonnull SimpleVersion[] versions, @Nonnull ForkJoinPool pool) {
+		Preconditions.checkNotNull (versions, "versions");
+		Preconditions.checkNotNull (pool, "pool");
+
+		return pool.invoke (new MaxTask (versions, 0, versions.length, true));
+	}
+
+	/**
+	 * Lazily initializes the default pool.
+	 */
+	static final class PoolHolder {
+
+		/**
+		 * Stores the default pool (uses one worker per available processor).
+		 */
+		static final ForkJoinPool POOL = new ForkJoinPool ();
+	}
+
+	/**
+	 * Sorts a region of an array (merge sort).
+	 */
+	private static final class SortTask extends RecursiveAction {
+
+		/**
+		 * Defines the serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Stores the array.
+		 */
+		private final SimpleVersion[] array;
+
+		/**
+		 * Stores the merge buffer (same size as the array).
+		 */
+		private final SimpleVersion[] buffer;
+
+		/**
+		 * Stores the start of the region (inclusive).
+		 */
+		private final int from;
+
+		/**
+		 * Stores the end of the region (exclusive).
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a new SortTask instance.
+		 * @param array The array.
+		 * @param buffer The merge buffer.
+		 * @param from The start of the region (inclusive).
+		 * @param to The end of the region (exclusive).
+		 */
+		private SortTask (SimpleVersion[] array, SimpleVersion[] buffer, int from, int to) {
+			this.array = array;
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute () {
+			if ((this.to - this.from) <= THRESHOLD) {
+				Arrays.sort (this.array, this.from, this.to, ORDER);
+				return;
+			}
+
+			// sort both halves
+			int middle = ((this.from + this.to) >>> 1);
+			invokeAll (new SortTask (this.array, this.buffer, this.from, middle), new SortTask (this.array, this.buffer, middle, this.to));
+
+			// skip merging if the halves are already in order
+			if (ORDER.compare (this.array[middle - 1], this.array[middle]) <= 0) return;
+
+			// merge both halves back into the array
+			System.arraycopy (this.array, this.from, this.buffer, this.from, (this.to - this.from));
+			new MergeTask (this.buffer, this.from, middle, middle, this.to, this.array, this.from).compute ();
+		}
+	}
+
+	/**
+	 * Merges two sorted regions (the work is split by dividing the larger region at its center).
+	 */
+	private static final class MergeTask extends RecursiveAction {
+
+		/**
+		 * Defines the serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Stores the source array.
+		 */
+		private final SimpleVersion[] source;
+
+		/**
+		 * Stores the start of the left region (inclusive).
+		 */
+		private final int leftFrom;
+
+		/**
+		 * Stores the end of the left region (exclusive).
+		 */
+		private final int leftTo;
+
+		/**
+		 * Stores the start of the right region (inclusive).
+		 */
+		private final int rightFrom;
+
+		/**
+		 * Stores the end of the right region (exclusive).
+		 */
+		private final int rightTo;
+
+		/**
+		 * Stores the target array.
+		 */
+		private final SimpleVersion[] target;
+
+		/**
+		 * Stores the target offset.
+		 */
+		private final int offset;
+
+		/**
+		 * Constructs a new MergeTask instance.
+		 * @param source The source array.
+		 * @param leftFrom The start of the left region (inclusive).
+		 * @param leftTo The end of the left region (exclusive).
+		 * @param rightFrom The start of the right region (inclusive).
+		 * @param rightTo The end of the right region (exclusive).
+		 * @param target The target array.
+		 * @param offset The target offset.
+		 */
+		private MergeTask (SimpleVersion[] source, int leftFrom, int leftTo, int rightFrom, int rightTo, SimpleVersion[] target, int offset) {
+			this.source = source;
+			this.leftFrom = leftFrom;
+			this.leftTo = leftTo;
+			this.rightFrom = rightFrom;
+			this.rightTo = rightTo;
+			this.target = target;
+			this.offset = offset;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute () {
+			int leftLength = (this.leftTo - this.leftFrom);
+			int rightLength = (this.rightTo - this.rightFrom);
+
+			// merge small regions sequentially (equal elements of the left region go first)
+			if ((leftLength + rightLength) <= THRESHOLD) {
+				int left = this.leftFrom;
+				int right = this.rightFrom;
+				int position = this.offset;
+
+				while (left < this.leftTo && right < this.rightTo) this.target[position++] = (ORDER.compare (this.source[right], this.source[left]) < 0 ? this.source[right++] : this.source[left++]);
+				while (left < this.leftTo) this.target[position++] = this.source[left++];
+				while (right < this.rightTo) this.target[position++] = this.source[right++];
+				return;
+			}
+
+			// split the larger region at its center and place the pivot
+			if (leftLength >= rightLength) {
+				int leftMiddle = ((this.leftFrom + this.leftTo) >>> 1);
+				int rightMiddle = search (this.source, this.rightFrom, this.rightTo, this.source[leftMiddle], false);
+				int pivot = (this.offset + (leftMiddle - this.leftFrom) + (rightMiddle - this.rightFrom));
+
+				this.target[pivot] = this.source[leftMiddle];
+				invokeAll (new MergeTask (this.source, this.leftFrom, leftMiddle, this.rightFrom, rightMiddle, this.target, this.offset), new MergeTask (this.source, (leftMiddle + 1), this.leftTo, rightMiddle, this.rightTo, this.target, (pivot + 1)));
+			} else {
+				int rightMiddle = ((this.rightFrom + this.rightTo) >>> 1);
+				int leftMiddle = search (this.source, this.leftFrom, this.leftTo, this.source[rightMiddle], true);
+				int pivot = (this.offset + (leftMiddle - this.leftFrom) + (rightMiddle - this.rightFrom));
+
+				this.target[pivot] = this.source[rightMiddle];
+				invokeAll (new MergeTask (this.source, this.leftFrom, leftMiddle, this.rightFrom, rightMiddle, this.target, this.offset), new MergeTask (this.source, leftMiddle, this.leftTo, (rightMiddle + 1), this.rightTo, this.target, (pivot + 1)));
+			}
+		}
+
+		/**
+		 * Searches the first element which is newer than (or equal to) the supplied version.
+		 * @param array The array.
+		 * @param from The start of the region (inclusive).
+		 * @param to The end of the region (exclusive).
+		 * @param version The version.
+		 * @param skipEqual True if equal elements shall be skipped.
+		 * @return The index of the element or the end of the region.
+		 */
+		private static int search (SimpleVersion[] array, int from, int to, SimpleVersion version, boolean skipEqual) {
+			while (from < to) {
+				int middle = ((from + to) >>> 1);
+				int comparison = ORDER.compare (array[middle], version);
+
+				if (comparison < 0 || (skipEqual && comparison == 0))
+					from = (middle + 1);
+				else
+					to = middle;
+			}
+
+			return from;
+		}
+	}
+
+	/**
+	 * Searches the newest (stable) version within a region of an array.
+	 */
+	private static final class MaxTask extends RecursiveTask<SimpleVersion> {
+
+		/**
+		 * Defines the serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Stores the array.
+		 */
+		private final SimpleVersion[] array;
+
+		/**
+		 * Stores the start of the region (inclusive).
+		 */
+		private final int from;
+
+		/**
+		 * Stores the end of the region (exclusive).
+		 */
+		private final int to;
+
+		/**
+		 * Indicates whether unstable versions are skipped.
+		 */
+		private final boolean stableOnly;
+
+		/**
+		 * Constructs a new MaxTask instance.
+		 * @param array The array.
+		 * @param from The start of the region (inclusive).
+		 * @param to The end of the region (exclusive).
+		 * @param stableOnly True if unstable versions shall be skipped.
+		 */
+		private MaxTask (SimpleVersion[] array, int from, int to, boolean stableOnly) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.stableOnly = stableOnly;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected SimpleVersion compute () {
+			if ((this.to - this.from) <= THRESHOLD) {
+				SimpleVersion max = null;
+
+				for (int i = this.from; i < this.to; i++) {
+					SimpleVersion version = this.array[i];
+					if (this.stableOnly && version.isUnstableBuild ()) continue;
+					if (max == null || ORDER.compare (version, max) > 0) max = version;
+				}
+
+				return max;
+			}
+
+			// search both halves
+			int middle = ((this.from + this.to) >>> 1);
+			MaxTask right = new MaxTask (this.array, middle, this.to, this.stableOnly);
+			right.fork ();
+
+			SimpleVersion leftMax = new MaxTask (this.array, this.from, middle, this.stableOnly).compute ();
+			SimpleVersion rightMax = right.join ();
+
+			// prefer the first of all equal versions
+			if (leftMax == null) return rightMax;
+			if (rightMax == null) return leftMax;
+			return (ORDER.compare (rightMax, leftMax) > 0 ? rightMax : leftMax);
+		}
+	}
+}
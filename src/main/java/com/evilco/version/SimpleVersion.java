@@ -16,14 +16,14 @@
 
 package com.evilco.version;
 
-import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
-import com.google.common.collect.ImmutableList;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Iterator;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -31,37 +31,54 @@ import java.util.List;
  * @auhtor			Johannes Donath <johannesd@evil-co.com>
  * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
  */
-public class SimpleVersion {
+public class SimpleVersion implements Comparable<SimpleVersion> {
 
 	/**
 	 * Defines the version extra bit separator (e.g. version-extra).
+	 * @deprecated Use {@link VersionGrammar#getExtraSeparator()} (custom separators are configured through grammars).
 	 */
-	public static String VERSION_EXTRA_SEPARATOR = "-";
+	@Deprecated
+	public static final String VERSION_EXTRA_SEPARATOR = "-";
 
 	/**
 	 * Defines the version separator (e.g. X.X.X).
+	 * @deprecated Use {@link VersionGrammar#getSeparator()} (custom separators are configured through grammars).
 	 */
-	public static String VERSION_SEPARATOR = ".";
+	@Deprecated
+	public static final String VERSION_SEPARATOR = ".";
 
 	/**
 	 * Defines a list of alpha extra bits.
+	 * @deprecated Use {@link VersionGrammar#getQualifierNames(VersionQualifier)}.
 	 */
-	public static List<String> VERSION_EXTRA_ALPHA = (new ImmutableList.Builder<String> ().add ("ALPHA").add ("A")).build ();
+	@Deprecated
+	public static final List<String> VERSION_EXTRA_ALPHA = VersionGrammar.DEFAULT.getQualifierNames (VersionQualifier.ALPHA);
 
 	/**
 	 * Defines a list of beta extra bits.
+	 * @deprecated Use {@link VersionGrammar#getQualifierNames(VersionQualifier)}.
 	 */
-	public static List<String> VERSION_EXTRA_BETA = (new ImmutableList.Builder<String> ().add ("BETA").add ("B")).build ();
+	@Deprecated
+	public static final List<String> VERSION_EXTRA_BETA = VersionGrammar.DEFAULT.getQualifierNames (VersionQualifier.BETA);
 
 	/**
 	 * Defines a list of release candidate bits.
+	 * @deprecated Use {@link VersionGrammar#getQualifierNames(VersionQualifier)}.
 	 */
-	public static List<String> VERSION_EXTRA_RELEASE_CANDIDATE = (new ImmutableList.Builder<String> ().add ("RC")).build ();
+	@Deprecated
+	public static final List<String> VERSION_EXTRA_RELEASE_CANDIDATE = VersionGrammar.DEFAULT.getQualifierNames (VersionQualifier.RELEASE_CANDIDATE);
 
 	/**
 	 * Defines a list of snapshot extra bits.
+	 * @deprecated Use {@link VersionGrammar#getQualifierNames(VersionQualifier)}.
 	 */
-	public static List<String> VERSION_EXTRA_SNAPSHOT = (new ImmutableList.Builder<String> ().add ("SNAPSHOT")).build ();
+	@Deprecated
+	public static final List<String> VERSION_EXTRA_SNAPSHOT = VersionGrammar.DEFAULT.getQualifierNames (VersionQualifier.SNAPSHOT);
+
+	/**
+	 * Stores the cache used by {@link #valueOf(CharSequence)}.
+	 */
+	private static volatile VersionCache versionCache = new VersionCache ();
 
 	/**
 	 * Stores the major version bit.
@@ -85,9 +102,45 @@ public class SimpleVersion {
 
 	/**
 	 * Stores the extra version bit.
+	 * Note: Versions which classify their extra bit upon first use (see {@link LazyVersion}) leave this field empty.
+	 * Subclasses should use {@link #getExtra()} instead.
 	 */
 	protected final String extraBit;
 
+	/**
+	 * Stores the grammar (used for exports).
+	 */
+	protected final VersionGrammar grammar;
+
+	/**
+	 * Stores the qualifier kind (derived from the extra bit upon construction).
+	 * Note: This field and the following derived fields only hold placeholders for versions which classify their extra
+	 * bit upon first use. Subclasses have to use {@link #getQualifier()}, {@link #getUnstableVersion()},
+	 * {@link #hashCode()} and {@link #getPackedKey()} instead.
+	 */
+	private final VersionQualifier qualifier;
+
+	/**
+	 * Stores the unstable version (derived from the extra bit upon construction).
+	 */
+	private final int unstableVersion;
+
+	/**
+	 * Stores the hash code (versions are immutable).
+	 */
+	private final int hash;
+
+	/**
+	 * Stores the packed key (or {@link PackedVersion#INVALID} if the version cannot be packed).
+	 */
+	private final long packedKey;
+
+	/**
+	 * Stores the string representation (computed upon first use).
+	 * Note: Racing threads may compute the representation more than once which is harmless since strings are immutable.
+	 */
+	private String string;
+
 	/**
 	 * Constructs a new SimpleVersion instance.
 	 * @param majorBit The major version bit (1.X.X.X-X)
@@ -97,11 +150,78 @@ public class SimpleVersion {
 	 * @param extraBit The extra version bit (X.X.X.X-SNAPSHOT)
 	 */
 	public SimpleVersion (int majorBit, int minorBit, int maintenanceBit, int buildBit, @Nullable String extraBit) {
+		this (majorBit, minorBit, maintenanceBit, buildBit, extraBit, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Constructs a new SimpleVersion instance.
+	 * @param majorBit The major version bit (1.X.X.X-X)
+	 * @param minorBit The minor version bit (X.1.X.X-X)
+	 * @param maintenanceBit The maintenance version bit (X.X.1.X-X)
+	 * @param buildBit The build version bit (X.X.X.1-X)
+	 * @param extraBit The extra version bit (X.X.X.X-SNAPSHOT)
+	 * @param grammar The grammar used to classify and export the extra bit.
+	 */
+	public SimpleVersion (int majorBit, int minorBit, int maintenanceBit, int buildBit, @Nullable String extraBit, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		this.majorBit = majorBit;
+		this.minorBit = minorBit;
+		this.maintenanceBit = maintenanceBit;
+		this.buildBit = buildBit;
+		this.extraBit = extraBit;
+		this.grammar = grammar;
+		this.qualifier = grammar.getQualifier (extraBit);
+		this.unstableVersion = grammar.getUnstableVersion (extraBit, this.qualifier);
+		this.hash = this.computeHashCode ();
+		this.packedKey = PackedVersion.encodeOrInvalid (this);
+	}
+
+	/**
+	 * Constructs a new SimpleVersion instance from previously classified elements.
+	 * Note: The qualifier and unstable version are trusted (see {@link VersionCodec}).
+	 * @param majorBit The major version bit (1.X.X.X-X)
+	 * @param minorBit The minor version bit (X.1.X.X-X)
+	 * @param maintenanceBit The maintenance version bit (X.X.1.X-X)
+	 * @param buildBit The build version bit (X.X.X.1-X)
+	 * @param extraBit The extra version bit (X.X.X.X-SNAPSHOT)
+	 * @param grammar The grammar used to export the extra bit.
+	 * @param qualifier The qualifier kind.
+	 * @param unstableVersion The unstable version.
+	 */
+	SimpleVersion (int majorBit, int minorBit, int maintenanceBit, int buildBit, @Nullable String extraBit, @Nonnull VersionGrammar grammar, @Nonnull VersionQualifier qualifier, int unstableVersion) {
 		this.majorBit = majorBit;
 		this.minorBit = minorBit;
 		this.maintenanceBit = maintenanceBit;
 		this.buildBit = buildBit;
 		this.extraBit = extraBit;
+		this.grammar = grammar;
+		this.qualifier = qualifier;
+		this.unstableVersion = unstableVersion;
+		this.hash = this.computeHashCode ();
+		this.packedKey = PackedVersion.encodeOrInvalid (this);
+	}
+
+	/**
+	 * Constructs a new SimpleVersion instance whose extra bit is classified upon first use (see {@link LazyVersion}).
+	 * Note: Subclasses using this constructor have to override all accessors of the derived elements.
+	 * @param grammar The grammar used to classify and export the extra bit.
+	 * @param majorBit The major version bit (1.X.X.X-X)
+	 * @param minorBit The minor version bit (X.1.X.X-X)
+	 * @param maintenanceBit The maintenance version bit (X.X.1.X-X)
+	 * @param buildBit The build version bit (X.X.X.1-X)
+	 */
+	SimpleVersion (@Nonnull VersionGrammar grammar, int majorBit, int minorBit, int maintenanceBit, int buildBit) {
+		this.majorBit = majorBit;
+		this.minorBit = minorBit;
+		this.maintenanceBit = maintenanceBit;
+		this.buildBit = buildBit;
+		this.extraBit = null;
+		this.grammar = grammar;
+		this.qualifier = null;
+		this.unstableVersion = -1;
+		this.hash = 0;
+		this.packedKey = PackedVersion.INVALID;
 	}
 
 	/**
@@ -147,99 +267,55 @@ public class SimpleVersion {
 	 * @param version A string representation of the version.
 	 */
 	public SimpleVersion (@Nonnull String version) throws VersionParserException {
-		Preconditions.checkNotNull (version, "version");
-
-		// check for whitespaces
-		if (CharMatcher.WHITESPACE.matchesAnyOf (version)) throw new VersionParserException ("Versions are not allowed to contain any whitespace characters.");
-
-		// split version
-		Iterable<String> versionIterable = Splitter.on (VERSION_SEPARATOR).split (version);
-
-		// check length
-		if (!versionIterable.iterator ().hasNext ()) {
-			this.majorBit = 0;
-			this.minorBit = 0;
-			this.maintenanceBit = 0;
-			this.buildBit = 0;
-			this.extraBit = null;
-			return;
-		}
-
-		// define current bit
-		int currentVersionBit = 0;
-		int majorBit = 0;
-		int minorBit = 0;
-		int maintenanceBit = 0;
-		int buildBit = 0;
-		String extraBit = null;
-
-		// iterate over all elements
-		Iterator<String> it = versionIterable.iterator ();
-
-		// validate length
-		if (!it.hasNext ()) throw new VersionParserException ("Supplied an empty version.");
-
-		while (it.hasNext ()) {
-			// get next bit
-			String versionBit = it.next ();
-
-			// check for last bit
-			if (!it.hasNext () && versionBit.contains (VERSION_EXTRA_SEPARATOR)) {
-				// split current bit
-				List<String> versionBitElements = Splitter.on (VERSION_EXTRA_SEPARATOR).splitToList (versionBit);
-
-				// update versionBit variable
-				versionBit = versionBitElements.get (0);
-
-				// update extra bit
-				extraBit = "";
-
-				// get iterator
-				Iterator<String> extraBitIterator = versionBitElements.iterator ();
-
-				// skip version bit
-				extraBitIterator.next ();
-
-				// append all elements
-				while (extraBitIterator.hasNext ()) {
-					if (!extraBit.isEmpty ()) extraBit += VERSION_EXTRA_SEPARATOR;
-					extraBit += extraBitIterator.next ();
-				}
-			}
+		this (((CharSequence) version));
+	}
 
-			// store bit
-			try {
-				switch (currentVersionBit) {
-					case 0:
-						majorBit = Integer.valueOf (versionBit);
-						break;
-					case 1:
-						minorBit = Integer.valueOf (versionBit);
-						break;
-					case 2:
-						maintenanceBit = Integer.valueOf (versionBit);
-						break;
-					case 3:
-						buildBit = Integer.valueOf (versionBit);
-						break;
-				}
-			} catch (NumberFormatException ex) {
-				throw new VersionParserException ("Found invalid version number in " + (currentVersionBit == 0 ? "major" : (currentVersionBit == 1 ? "minor" : (currentVersionBit == 2 ? "maintenance" : "build"))) + " version bit: " + ex.getMessage (), ex);
-			}
+	/**
+	 * Constructs a new SimpleVersion instance.
+	 * @param version A character sequence representing the version.
+	 */
+	public SimpleVersion (@Nonnull CharSequence version) throws VersionParserException {
+		this (Preconditions.checkNotNull (version, "version"), 0, version.length ());
+	}
 
-			// verify state (stop processing if we hit the extra bit to support 1.0-EXTRA, 1.0.0-EXTRA, etc.)
-			if (extraBit != null) break;
+	/**
+	 * Constructs a new SimpleVersion instance.
+	 * Note: The region is scanned exactly once (see {@link VersionScanner}).
+	 * @param version A character sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 */
+	public SimpleVersion (@Nonnull CharSequence version, int start, int end) throws VersionParserException {
+		this (version, start, end, VersionGrammar.DEFAULT);
+	}
 
-			// update current position
-			currentVersionBit++;
-		}
+	/**
+	 * Constructs a new SimpleVersion instance.
+	 * @param version A character sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 * @param grammar The grammar.
+	 */
+	public SimpleVersion (@Nonnull CharSequence version, int start, int end, @Nonnull VersionGrammar grammar) throws VersionParserException {
+		this (scan (version, start, end, grammar));
+	}
 
+	/**
+	 * Constructs a new SimpleVersion instance from an accepted version.
+	 * @param scanner The scanner which accepted the version.
+	 */
+	private SimpleVersion (@Nonnull VersionScanner scanner) {
 		// store elements
-		this.majorBit = majorBit;
-		this.minorBit = minorBit;
-		this.maintenanceBit = maintenanceBit;
-		this.buildBit = buildBit;
-		this.extraBit = extraBit;
+		this.majorBit = scanner.majorBit;
+		this.minorBit = scanner.minorBit;
+		this.maintenanceBit = scanner.maintenanceBit;
+		this.buildBit = scanner.buildBit;
+		this.extraBit = scanner.getExtra ();
+		this.grammar = scanner.grammar;
+		this.qualifier = scanner.getQualifier ();
+		this.unstableVersion = scanner.getUnstableVersion (this.qualifier);
+		this.hash = this.computeHashCode ();
+		this.packedKey = PackedVersion.encodeOrInvalid (this);
 	}
 
 	/**
@@ -254,6 +330,11 @@ public class SimpleVersion {
 		this.maintenanceBit = version.getMaintenance ();
 		this.buildBit = version.getBuild ();
 		this.extraBit = version.getExtra ();
+		this.grammar = version.getGrammar ();
+		this.qualifier = version.getQualifier ();
+		this.unstableVersion = version.getUnstableVersion ();
+		this.hash = this.computeHashCode ();
+		this.packedKey = PackedVersion.encodeOrInvalid (this);
 	}
 
 	/**
@@ -263,6 +344,113 @@ public class SimpleVersion {
 		this (1, 0, 0, 0, null);
 	}
 
+	/**
+	 * Scans a version.
+	 * @param version A character sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 * @param grammar The grammar.
+	 * @return The scanner which accepted the version.
+	 * @throws VersionParserException when the version is invalid.
+	 */
+	static VersionScanner scan (@Nonnull CharSequence version, int start, int end, @Nonnull VersionGrammar grammar) throws VersionParserException {
+		Preconditions.checkNotNull (version, "version");
+		Preconditions.checkPositionIndexes (start, end, version.length ());
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		VersionScanner scanner = new VersionScanner ();
+		if (!scanner.scan (version, start, end, grammar)) throw scanner.createException ();
+		return scanner;
+	}
+
+	/**
+	 * Parses a version without throwing an exception for malformed input.
+	 * @param version A character sequence representing the version.
+	 * @return The result.
+	 */
+	@Nonnull
+	public static VersionParseResult tryParse (@Nonnull CharSequence version) {
+		Preconditions.checkNotNull (version, "version");
+		return tryParse (version, 0, version.length (), VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Parses a version without throwing an exception for malformed input.
+	 * Note: Malformed versions do not allocate exceptions (or stack traces) at all.
+	 * @param version A character sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 * @param grammar The grammar.
+	 * @return The result.
+	 */
+	@Nonnull
+	public static VersionParseResult tryParse (@Nonnull CharSequence version, int start, int end, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (version, "version");
+		Preconditions.checkPositionIndexes (start, end, version.length ());
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		VersionScanner scanner = new VersionScanner ();
+		if (!scanner.scan (version, start, end, grammar)) return scanner.createFailure ();
+		return new VersionParseResult (new SimpleVersion (scanner));
+	}
+
+	/**
+	 * Returns a canonical (shared) version instance for the supplied version string.
+	 * Note: Repeated calls with the same string return the same instance as long as it has not been evicted from the cache.
+	 * @param version A string representation of the version.
+	 * @return The version.
+	 * @throws VersionParserException
+	 */
+	public static SimpleVersion valueOf (@Nonnull CharSequence version) throws VersionParserException {
+		return versionCache.get (version);
+	}
+
+	/**
+	 * Returns the cache used by {@link #valueOf(CharSequence)}.
+	 * @return The version cache.
+	 */
+	public static VersionCache getVersionCache () {
+		return versionCache;
+	}
+
+	/**
+	 * Replaces the cache used by {@link #valueOf(CharSequence)} (e.g. to change its size or eviction policy).
+	 * @param cache The new version cache.
+	 */
+	public static void setVersionCache (@Nonnull VersionCache cache) {
+		Preconditions.checkNotNull (cache, "cache");
+		versionCache = cache;
+	}
+
+	/**
+	 * Computes the hash code of this version.
+	 * Note: Snapshot unstable versions are ignored in order to stay consistent with {@link #equals(Object)}.
+	 * @return The hash code.
+	 */
+	private int computeHashCode () {
+		return computeHashCode (this.majorBit, this.minorBit, this.maintenanceBit, this.buildBit, this.qualifier, this.unstableVersion);
+	}
+
+	/**
+	 * Computes the hash code of a version.
+	 * @param majorBit The major version bit.
+	 * @param minorBit The minor version bit.
+	 * @param maintenanceBit The maintenance version bit.
+	 * @param buildBit The build version bit.
+	 * @param qualifier The qualifier kind.
+	 * @param unstableVersion The unstable version.
+	 * @return The hash code.
+	 */
+	static int computeHashCode (int majorBit, int minorBit, int maintenanceBit, int buildBit, VersionQualifier qualifier, int unstableVersion) {
+		int hash = majorBit;
+		hash = ((31 * hash) + minorBit);
+		hash = ((31 * hash) + maintenanceBit);
+		hash = ((31 * hash) + buildBit);
+		hash = ((31 * hash) + qualifier.ordinal ());
+		hash = ((31 * hash) + (qualifier == VersionQualifier.SNAPSHOT ? 0 : unstableVersion));
+		return hash;
+	}
+
 	/**
 	 * Returns the major version bit.
 	 * @return The major version bit (1.X.X-X)
@@ -308,8 +496,32 @@ public class SimpleVersion {
 	 * @return A stripped version of extra.
 	 */
 	protected String getExtraStripped () {
-		if (this.getExtra () == null || this.getExtra ().isEmpty () || !this.getExtra ().contains (VERSION_EXTRA_SEPARATOR)) return this.getExtra ();
-		return Splitter.on (VERSION_EXTRA_SEPARATOR).splitToList (this.getExtra ()).get (0);
+		if (this.getExtra () == null || this.getExtra ().isEmpty () || !this.getExtra ().contains (this.grammar.getExtraSeparator ())) return this.getExtra ();
+		return Splitter.on (this.grammar.getExtraSeparator ()).splitToList (this.getExtra ()).get (0);
+	}
+
+	/**
+	 * Returns the grammar.
+	 * @return The grammar this version was created with.
+	 */
+	public VersionGrammar getGrammar () {
+		return this.grammar;
+	}
+
+	/**
+	 * Returns the qualifier kind.
+	 * @return The qualifier kind.
+	 */
+	public VersionQualifier getQualifier () {
+		return this.qualifier;
+	}
+
+	/**
+	 * Returns the packed key of this version.
+	 * @return The packed key or {@link PackedVersion#INVALID}.
+	 */
+	long getPackedKey () {
+		return this.packedKey;
 	}
 
 	/**
@@ -317,14 +529,7 @@ public class SimpleVersion {
 	 * @return The unstable version.
 	 */
 	public int getUnstableVersion () {
-		// check for normal builds
-		if (!this.isUnstableBuild ()) return -1;
-
-		// check for version bit
-		if (this.getExtra () == null || this.getExtra ().isEmpty () || !this.getExtra ().contains (VERSION_EXTRA_SEPARATOR)) return 0;
-
-		// extract version bit
-		return Integer.valueOf (Splitter.on (VERSION_EXTRA_SEPARATOR).splitToList (this.getExtra ()).get (1));
+		return this.unstableVersion;
 	}
 
 	/**
@@ -332,7 +537,7 @@ public class SimpleVersion {
 	 * @return True if the version represents an alpha version.
 	 */
 	public boolean isAlphaBuild () {
-		return (this.getExtra () != null && !this.getExtra ().isEmpty () && VERSION_EXTRA_ALPHA.contains (this.getExtraStripped ().toUpperCase ()));
+		return (this.getQualifier () == VersionQualifier.ALPHA);
 	}
 
 	/**
@@ -340,7 +545,7 @@ public class SimpleVersion {
 	 * @return True if the version represents a beta version.
 	 */
 	public boolean isBetaBuild () {
-		return (this.getExtra () != null && !this.getExtra ().isEmpty () && this.getExtra () != null && VERSION_EXTRA_BETA.contains (this.getExtraStripped ().toUpperCase ()));
+		return (this.getQualifier () == VersionQualifier.BETA);
 	}
 
 	/**
@@ -348,7 +553,7 @@ public class SimpleVersion {
 	 * @return True if the version represents a release candidate build.
 	 */
 	public boolean isReleaseCandidateBuild () {
-		return (this.getExtra () != null && !this.getExtra ().isEmpty () && VERSION_EXTRA_RELEASE_CANDIDATE.contains (this.getExtraStripped ().toUpperCase ()));
+		return (this.getQualifier () == VersionQualifier.RELEASE_CANDIDATE);
 	}
 
 	/**
@@ -356,7 +561,7 @@ public class SimpleVersion {
 	 * @return True if the version represents a snapshot build.
 	 */
 	public boolean isSnapshotBuild () {
-		return (this.getExtra () != null && !this.getExtra ().isEmpty () && VERSION_EXTRA_SNAPSHOT.contains (this.getExtraStripped ().toUpperCase ()));
+		return (this.getQualifier () == VersionQualifier.SNAPSHOT);
 	}
 
 	/**
@@ -364,7 +569,7 @@ public class SimpleVersion {
 	 * @return True if the version represents an unstable build.
 	 */
 	public boolean isUnstableBuild () {
-		return (this.isAlphaBuild () || this.isBetaBuild () || this.isReleaseCandidateBuild () || this.isSnapshotBuild ());
+		return this.getQualifier ().isUnstable ();
 	}
 
 	/**
@@ -373,30 +578,8 @@ public class SimpleVersion {
 	 * @return True if the supplied version is older.
 	 */
 	public boolean newer (@Nonnull SimpleVersion version) {
-		Preconditions.checkNotNull (version, "version");
-
-		// check equality
-		if (this.equals (version)) return false;
-
-		// check main bits
-		if (version.getMajor () < this.getMajor ()) return true;
-		if (version.getMinor () < this.getMinor ()) return true;
-		if (version.getMaintenance () < this.getMaintenance ()) return true;
-		if (version.getBuild () < this.getBuild ()) return true;
-
-		// check for unstable builds (in general)
-		if (version.isUnstableBuild () && !this.isUnstableBuild ()) return true;
-
-		// check unstable versions
-		if (version.isAlphaBuild () && !this.isAlphaBuild ()) return true;
-		if (version.isBetaBuild () && !this.isAlphaBuild () && !this.isBetaBuild ()) return true;
-		if (version.isSnapshotBuild () && !this.isAlphaBuild () && !this.isBetaBuild () && !this.isSnapshotBuild ()) return true;
-
-		// check exact version bit
-		if (version.isUnstableBuild () && this.isUnstableBuild () && !version.isSnapshotBuild () && !this.isSnapshotBuild () && (version.getUnstableVersion () < this.getUnstableVersion ())) return true;
-
-		// seems like we're older (or the same version)
-		return false;
+		if (VersionMetrics.ENABLED) VersionMetrics.recordNewer ();
+		return (this.compareTo (version) > 0);
 	}
 
 	/**
@@ -405,9 +588,34 @@ public class SimpleVersion {
 	 * @return True if the supplied version is newer.
 	 */
 	public boolean older (@Nonnull SimpleVersion version) {
+		return (this.compareTo (version) < 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Note: Versions are ordered by their major, minor, maintenance and build bits followed by their qualifier rank (see
+	 * {@link VersionQualifier}) and unstable version. The ordering is consistent with {@link #equals(Object)}.
+	 */
+	@Override
+	public int compareTo (@Nonnull SimpleVersion version) {
 		Preconditions.checkNotNull (version, "version");
 
-		return (!this.equals (version) && !this.newer (version));
+		// compare main bits
+		if (this.majorBit != version.majorBit) return (this.majorBit < version.majorBit ? -1 : 1);
+		if (this.minorBit != version.minorBit) return (this.minorBit < version.minorBit ? -1 : 1);
+		if (this.maintenanceBit != version.maintenanceBit) return (this.maintenanceBit < version.maintenanceBit ? -1 : 1);
+		if (this.buildBit != version.buildBit) return (this.buildBit < version.buildBit ? -1 : 1);
+
+		// compare qualifier rank
+		VersionQualifier qualifier = this.getQualifier ();
+		VersionQualifier otherQualifier = version.getQualifier ();
+		if (qualifier != otherQualifier) return (qualifier.ordinal () < otherQualifier.ordinal () ? -1 : 1);
+
+		// compare unstable version (snapshots do not carry a meaningful unstable version)
+		int unstableVersion = this.getUnstableVersion ();
+		int otherUnstableVersion = version.getUnstableVersion ();
+		if (qualifier == VersionQualifier.SNAPSHOT || unstableVersion == otherUnstableVersion) return 0;
+		return (unstableVersion < otherUnstableVersion ? -1 : 1);
 	}
 
 	/**
@@ -415,6 +623,8 @@ public class SimpleVersion {
 	 */
 	@Override
 	public boolean equals (Object obj) {
+		if (VersionMetrics.ENABLED) VersionMetrics.recordEquals ();
+
 		// check for null objects
 		if (obj == null) return false;
 
@@ -430,11 +640,7 @@ public class SimpleVersion {
 		if (version.getMaintenance () != this.getMaintenance ()) return false;
 		if (version.getBuild () != this.getBuild ()) return false;
 
-		if (version.isUnstableBuild () != this.isUnstableBuild ()) return false;
-		if (version.isAlphaBuild () != this.isAlphaBuild ()) return false;
-		if (version.isBetaBuild () != this.isBetaBuild ()) return false;
-		if (version.isSnapshotBuild () != this.isSnapshotBuild ()) return false;
-		if (version.isReleaseCandidateBuild () != this.isReleaseCandidateBuild ()) return false;
+		if (version.getQualifier () != this.getQualifier ()) return false;
 		if (!this.isSnapshotBuild () && !version.isSnapshotBuild () && version.getUnstableVersion () != this.getUnstableVersion ()) return false;
 
 		return true;
@@ -443,43 +649,143 @@ public class SimpleVersion {
 	/**
 	 * {@inheritDoc}
 	 */
-	public String toString () {
-		return this.toString (true);
+	@Override
+	public int hashCode () {
+		return this.hash;
 	}
 
 	/**
-	 * Converts the version as a String.
+	 * Appends the string representation of this version (as returned by {@link #toString()}).
+	 * Note: No intermediate objects are allocated.
+	 * @param appendable The target.
+	 * @return The target.
+	 * @throws IOException
+	 */
+	public Appendable appendTo (@Nonnull Appendable appendable) throws IOException {
+		return this.appendTo (appendable, true);
+	}
+
+	/**
+	 * Appends the string representation of this version.
+	 * @param appendable The target.
 	 * @param ignoreBuild When set to false, appends the build number even when set to 0.
-	 * @return A string representation.
+	 * @return The target.
+	 * @throws IOException
 	 */
-	public String toString (boolean ignoreBuild) {
-		// create string builder
-		StringBuilder builder = new StringBuilder ();
+	public Appendable appendTo (@Nonnull Appendable appendable, boolean ignoreBuild) throws IOException {
+		Preconditions.checkNotNull (appendable, "appendable");
+
+		// use the cached representation if possible
+		String string = this.string;
+		if (ignoreBuild && string != null) return appendable.append (string);
 
 		// add major bit
-		builder.append (this.getMajor ());
+		VersionWriter.append (appendable, this.getMajor ());
 
 		// add minor bit
-		builder.append (VERSION_SEPARATOR);
-		builder.append (this.getMinor ());
+		appendable.append (this.grammar.getSeparator ());
+		VersionWriter.append (appendable, this.getMinor ());
 
 		// add maintenance bit
-		builder.append (VERSION_SEPARATOR);
-		builder.append (this.getMaintenance ());
+		appendable.append (this.grammar.getSeparator ());
+		VersionWriter.append (appendable, this.getMaintenance ());
 
 		// add build bit
 		if (this.getBuild () > 0 || !ignoreBuild) {
-			builder.append (VERSION_SEPARATOR);
-			builder.append (this.getBuild ());
+			appendable.append (this.grammar.getSeparator ());
+			VersionWriter.append (appendable, this.getBuild ());
 		}
 
 		// add extra bit
 		if (this.getExtra () != null && !this.getExtra ().isEmpty ()) {
-			builder.append (VERSION_EXTRA_SEPARATOR);
-			builder.append (this.getExtra ());
+			appendable.append (this.grammar.getExtraSeparator ());
+			appendable.append (this.getExtra ());
 		}
 
-		// return finished version string
-		return builder.toString ();
+		return appendable;
+	}
+
+	/**
+	 * Appends the string representation of this version (as returned by {@link #toString()}).
+	 * @param builder The target.
+	 * @return The target.
+	 */
+	public StringBuilder appendTo (@Nonnull StringBuilder builder) {
+		try {
+			this.appendTo (((Appendable) builder), true);
+			return builder;
+		} catch (IOException ex) {
+			throw new AssertionError (ex);
+		}
+	}
+
+	/**
+	 * Writes the string representation of this version (as returned by {@link #toString()}) as ASCII.
+	 * Note: Characters which cannot be represented as ASCII are replaced with '?'. The buffer position is left untouched
+	 * if the buffer is too small.
+	 * @param buffer The target.
+	 * @return The target.
+	 * @throws BufferOverflowException when the buffer is too small.
+	 */
+	public ByteBuffer appendTo (@Nonnull ByteBuffer buffer) {
+		Preconditions.checkNotNull (buffer, "buffer");
+
+		int position = buffer.position ();
+
+		try {
+			// use the cached representation if possible
+			String string = this.string;
+
+			if (string != null) {
+				VersionWriter.put (buffer, string);
+				return buffer;
+			}
+
+			// add major, minor and maintenance bits
+			VersionWriter.put (buffer, this.getMajor ());
+			VersionWriter.put (buffer, this.grammar.getSeparator ());
+			VersionWriter.put (buffer, this.getMinor ());
+			VersionWriter.put (buffer, this.grammar.getSeparator ());
+			VersionWriter.put (buffer, this.getMaintenance ());
+
+			// add build bit
+			if (this.getBuild () > 0) {
+				VersionWriter.put (buffer, this.grammar.getSeparator ());
+				VersionWriter.put (buffer, this.getBuild ());
+			}
+
+			// add extra bit
+			if (this.getExtra () != null && !this.getExtra ().isEmpty ()) {
+				VersionWriter.put (buffer, this.grammar.getExtraSeparator ());
+				VersionWriter.put (buffer, this.getExtra ());
+			}
+		} catch (BufferOverflowException ex) {
+			buffer.position (position);
+			throw ex;
+		}
+
+		return buffer;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString () {
+		String string = this.string;
+		if (string == null) this.string = string = this.toString (true);
+		return string;
+	}
+
+	/**
+	 * Converts the version as a String.
+	 * @param ignoreBuild When set to false, appends the build number even when set to 0.
+	 * @return A string representation.
+	 */
+	public String toString (boolean ignoreBuild) {
+		try {
+			return this.appendTo (new StringBuilder (), ignoreBuild).toString ();
+		} catch (IOException ex) {
+			throw new AssertionError (ex);
+		}
 	}
 }
\ No newline at end of file
@@ -17,11 +17,13 @@
 package com.evilco.version;
 
 import com.google.common.base.CharMatcher;
+import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Splitter;
 
 import javax.annotation.Nonnull;
-import java.util.List;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Provides a simple version representation.
@@ -55,6 +57,31 @@ public class SimpleVersionRange {
 	 */
 	public static final String RANGE_SEPARATOR = ",";
 
+	/**
+	 * Defines the ceiling version selector character.
+	 */
+	private static final char CEIL_SELECTOR_CHAR = CEIL_SELECTOR.charAt (0);
+
+	/**
+	 * Defines the ceiling (fuzzy) version selector character.
+	 */
+	private static final char CEIL_SELECTOR_FUZZY_CHAR = CEIL_SELECTOR_FUZZY.charAt (0);
+
+	/**
+	 * Defines the floor version selector character.
+	 */
+	private static final char FLOOR_SELECTOR_CHAR = FLOOR_SELECTOR.charAt (0);
+
+	/**
+	 * Defines the floor (fuzzy) version selector character.
+	 */
+	private static final char FLOOR_SELECTOR_FUZZY_CHAR = FLOOR_SELECTOR_FUZZY.charAt (0);
+
+	/**
+	 * Defines the range separator character.
+	 */
+	private static final char RANGE_SEPARATOR_CHAR = RANGE_SEPARATOR.charAt (0);
+
 	/**
 	 * Stores the ceiling version.
 	 */
@@ -75,12 +102,23 @@ public class SimpleVersionRange {
 	 */
 	protected final boolean floorVersionFuzzy;
 
+	/**
+	 * Stores the hash code (ranges are immutable).
+	 */
+	protected final int hash;
+
+	/**
+	 * Stores the string representation (computed upon first use).
+	 * Note: Racing threads may compute the representation more than once which is harmless since strings are immutable.
+	 */
+	private String string;
+
 	/**
 	 * Constructs a new SimpleVersionRange instance.
 	 * @param floorVersion The floor version.
 	 * @param floorVersionFuzzy True if the floor version is fuzzy (>= floor instead of > floor).
-	 * @param ceilVersion The ceiling version.
-	 * @param ceilVersionFuzzy True if the ceiling version is fuzzy (>= ceiling instead of > ceiling).
+	 * @param ceilVersion The ceiling version (or null for open ranges).
+	 * @param ceilVersionFuzzy True if the ceiling version is fuzzy (>= ceiling instead of > ceiling). Ignored for open ranges.
 	 */
 	public SimpleVersionRange (@Nonnull SimpleVersion floorVersion, boolean floorVersionFuzzy, SimpleVersion ceilVersion, boolean ceilVersionFuzzy) throws VersionParserException {
 		Preconditions.checkNotNull (floorVersion, "floorVersion");
@@ -91,7 +129,8 @@ public class SimpleVersionRange {
 		this.floorVersion = floorVersion;
 		this.floorVersionFuzzy = floorVersionFuzzy;
 		this.ceilVersion = ceilVersion;
-		this.ceilVersionFuzzy = ceilVersionFuzzy;
+		this.ceilVersionFuzzy = (ceilVersion != null && ceilVersionFuzzy);
+		this.hash = this.computeHashCode ();
 	}
 
 	/**
@@ -130,56 +169,187 @@ public class SimpleVersionRange {
 	 * @throws VersionParserException
 	 */
 	public SimpleVersionRange (@Nonnull String versionRange) throws VersionParserException {
-		Preconditions.checkNotNull (versionRange, "versionRange");
+		this (((CharSequence) versionRange));
+	}
 
-		// remove all whitespaces
-		versionRange = CharMatcher.WHITESPACE.removeFrom (versionRange);
+	/**
+	 * Constructs a new SimpleVersionRange instance.
+	 * Note: Ranges are scanned once and both versions are parsed straight from the supplied sequence. A copy is only
+	 * created for ranges which contain whitespaces within a version (e.g. "[1. 0,2.0]").
+	 * @param versionRange The version range.
+	 * @throws VersionParserException
+	 */
+	public SimpleVersionRange (@Nonnull CharSequence versionRange) throws VersionParserException {
+		this (versionRange, VersionGrammar.DEFAULT);
+	}
 
-		// check size
-		if (versionRange.isEmpty ()) throw new VersionParserException ("A version range cannot be empty.");
+	/**
+	 * Constructs a new SimpleVersionRange instance.
+	 * @param versionRange The version range.
+	 * @param grammar The grammar used to parse both versions.
+	 * @throws VersionParserException
+	 */
+	public SimpleVersionRange (@Nonnull CharSequence versionRange, @Nonnull VersionGrammar grammar) throws VersionParserException {
+		Preconditions.checkNotNull (versionRange, "versionRange");
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		// scan range
+		int start;
+		int end;
+		int separatorCount;
+		int separatorPosition;
+		boolean selectors;
+		boolean stripped = false;
+
+		while (true) {
+			start = -1;
+			end = -1;
+			separatorCount = 0;
+			separatorPosition = -1;
+			selectors = false;
+
+			boolean whitespace = false;
+
+			for (int i = 0; i < versionRange.length (); i++) {
+				char current = versionRange.charAt (i);
+
+				// skip whitespaces
+				if ((current <= ' ' || current > '~') && CharMatcher.WHITESPACE.matches (current)) {
+					whitespace = true;
+					continue;
+				}
+
+				// update bounds
+				if (start == -1) start = i;
+				end = (i + 1);
+
+				// find separators and selectors
+				if (current == RANGE_SEPARATOR_CHAR) {
+					if (separatorPosition == -1) separatorPosition = i;
+					separatorCount++;
+				} else if (current == FLOOR_SELECTOR_CHAR || current == FLOOR_SELECTOR_FUZZY_CHAR || current == CEIL_SELECTOR_CHAR || current == CEIL_SELECTOR_FUZZY_CHAR)
+					selectors = true;
+			}
+
+			// whitespaces around selectors and separators are trimmed from the versions
+			if (!whitespace || stripped || start == -1) break;
+			if (separatorCount == 0 && !selectors && !containsWhitespace (versionRange, start, end)) break;
+			if (separatorCount == 1 && !containsWhitespace (versionRange, trimLeft (versionRange, (start + 1), separatorPosition), trimRight (versionRange, (start + 1), separatorPosition)) && !containsWhitespace (versionRange, trimLeft (versionRange, (separatorPosition + 1), (end - 1)), trimRight (versionRange, (separatorPosition + 1), (end - 1)))) break;
+			if (separatorCount > 1 || (separatorCount == 0 && selectors)) break;
+
+			// remove all whitespaces (versions containing whitespaces are accepted within ranges)
+			versionRange = CharMatcher.WHITESPACE.removeFrom (versionRange);
+			stripped = true;
+		}
 
-		// split string into two parts
-		List<String> versionRangeElements = Splitter.on (RANGE_SEPARATOR).splitToList (versionRange);
+		// check size
+		if (start == -1) throw new VersionParserException ("A version range cannot be empty.");
 
 		// create simple range
-		if (versionRangeElements.size () == 1 && !CharMatcher.anyOf (FLOOR_SELECTOR + FLOOR_SELECTOR_FUZZY + CEIL_SELECTOR + CEIL_SELECTOR_FUZZY).matchesAnyOf (versionRangeElements.get (0))) {
+		if (separatorCount == 0 && !selectors) {
 			// store version
 			this.floorVersionFuzzy = true;
-			this.floorVersion = new SimpleVersion (versionRangeElements.get (0));
+			this.floorVersion = new SimpleVersion (versionRange, start, end, grammar);
 
 			// set ceiling version
 			this.ceilVersionFuzzy = false;
 			this.ceilVersion = null;
+			this.hash = this.computeHashCode ();
 
 			// done
 			return;
 		}
 
 		// verify length
-		if (versionRangeElements.size () != 2) throw new VersionParserException ("Invalid amount of range elements: " + versionRangeElements.size ());
-
-		// process first element
-		String versionFloor = versionRangeElements.get (0);
+		if (separatorCount != 1) throw new VersionParserException ("Invalid amount of range elements: " + (separatorCount + 1));
 
 		// get floor type
-		this.floorVersionFuzzy = versionFloor.startsWith (FLOOR_SELECTOR_FUZZY);
-		if (!this.floorVersionFuzzy && !versionFloor.startsWith (FLOOR_SELECTOR)) throw new VersionParserException ("Invalid floor prefix found: " + versionFloor.charAt (0));
+		char floorSelector = versionRange.charAt (start);
+		if (start == separatorPosition) throw new VersionParserException ("The floor version is missing.");
 
-		// store floor version
-		this.floorVersion = new SimpleVersion (versionFloor.substring (1));
+		this.floorVersionFuzzy = (floorSelector == FLOOR_SELECTOR_FUZZY_CHAR);
+		if (!this.floorVersionFuzzy && floorSelector != FLOOR_SELECTOR_CHAR) throw new VersionParserException ("Invalid floor prefix found: " + floorSelector);
 
-		// process second element
-		String versionCeil = versionRangeElements.get (1);
+		// store floor version
+		this.floorVersion = new SimpleVersion (versionRange, trimLeft (versionRange, (start + 1), separatorPosition), trimRight (versionRange, (start + 1), separatorPosition), grammar);
 
 		// get ceil type
-		this.ceilVersionFuzzy = versionCeil.endsWith (CEIL_SELECTOR_FUZZY);
-		if (!this.ceilVersionFuzzy && !versionCeil.endsWith (CEIL_SELECTOR)) throw new VersionParserException ("Invalid ceiling suffix found: " + versionCeil.charAt ((versionCeil.length () - 1)));
+		char ceilSelector = versionRange.charAt ((end - 1));
+		if ((end - 1) == separatorPosition) throw new VersionParserException ("The ceiling version is missing.");
 
-		// get ceil version
-		this.ceilVersion = new SimpleVersion (versionCeil.substring (0, (versionCeil.length () - 1)));
+		boolean ceilFuzzy = (ceilSelector == CEIL_SELECTOR_FUZZY_CHAR);
+		if (!ceilFuzzy && ceilSelector != CEIL_SELECTOR_CHAR) throw new VersionParserException ("Invalid ceiling suffix found: " + ceilSelector);
+
+		// get ceil version (an empty ceiling denotes an open range, e.g. (1.0,))
+		int ceilStart = trimLeft (versionRange, (separatorPosition + 1), (end - 1));
+
+		if (ceilStart == (end - 1)) {
+			this.ceilVersionFuzzy = false;
+			this.ceilVersion = null;
+		} else {
+			this.ceilVersionFuzzy = ceilFuzzy;
+			this.ceilVersion = new SimpleVersion (versionRange, ceilStart, trimRight (versionRange, (separatorPosition + 1), (end - 1)), grammar);
+		}
 
 		// verify range
-		if (this.floorVersion.newer (this.ceilVersion)) throw new VersionParserException ("The floor version is newer than the ceiling version.");
+		if (this.ceilVersion != null && this.floorVersion.newer (this.ceilVersion)) throw new VersionParserException ("The floor version is newer than the ceiling version.");
+
+		// compute hash code
+		this.hash = this.computeHashCode ();
+	}
+
+	/**
+	 * Checks whether a region contains whitespaces.
+	 * @param sequence The sequence.
+	 * @param start The start of the region (inclusive).
+	 * @param end The end of the region (exclusive).
+	 * @return True if the region contains at least one whitespace.
+	 */
+	private static boolean containsWhitespace (CharSequence sequence, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (CharMatcher.WHITESPACE.matches (sequence.charAt (i))) return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Skips leading whitespaces within a region.
+	 * @param sequence The sequence.
+	 * @param start The start of the region (inclusive).
+	 * @param end The end of the region (exclusive).
+	 * @return The index of the first non-whitespace character (or end).
+	 */
+	private static int trimLeft (CharSequence sequence, int start, int end) {
+		while (start < end && CharMatcher.WHITESPACE.matches (sequence.charAt (start))) start++;
+		return start;
+	}
+
+	/**
+	 * Skips trailing whitespaces within a region.
+	 * @param sequence The sequence.
+	 * @param start The start of the region (inclusive).
+	 * @param end The end of the region (exclusive).
+	 * @return The index after the last non-whitespace character (or end for regions which consist of whitespaces only).
+	 */
+	private static int trimRight (CharSequence sequence, int start, int end) {
+		int position = end;
+		while (position > start && CharMatcher.WHITESPACE.matches (sequence.charAt ((position - 1)))) position--;
+
+		// whitespace only regions are trimmed to an empty region at their end (matches trimLeft)
+		return (position == start ? end : position);
+	}
+
+	/**
+	 * Computes the hash code of this range.
+	 * @return The hash code.
+	 */
+	private int computeHashCode () {
+		int hash = this.floorVersion.hashCode ();
+		hash = ((31 * hash) + (this.ceilVersion == null ? 0 : this.ceilVersion.hashCode ()));
+		hash = ((31 * hash) + (this.floorVersionFuzzy ? 1 : 0));
+		hash = ((31 * hash) + (this.ceilVersionFuzzy ? 1 : 0));
+		return hash;
 	}
 
 	/**
@@ -221,12 +391,26 @@ public class SimpleVersionRange {
 	 */
 	public boolean isInRange (@Nonnull SimpleVersion version) {
 		Preconditions.checkNotNull (version);
+		if (VersionMetrics.ENABLED) VersionMetrics.recordRangeCheck ();
+
+		// check floor
+		int floorComparison = this.floorVersion.compareTo (version);
+		if (floorComparison > 0 || (floorComparison == 0 && !this.floorVersionFuzzy)) return false;
 
 		// support bigger than ranges
-		if (this.ceilVersion == null && (this.floorVersionFuzzy && this.floorVersion.equals (version) || this.floorVersion.older (version))) return true;
+		if (this.ceilVersion == null) return true;
+
+		// check ceiling
+		int ceilComparison = this.ceilVersion.compareTo (version);
+		return (ceilComparison > 0 || (ceilComparison == 0 && this.ceilVersionFuzzy));
+	}
 
-		// check normal ranges
-		return (this.ceilVersionFuzzy && this.ceilVersion.equals (version) || this.floorVersionFuzzy && this.floorVersion.equals (version) || (this.ceilVersion.newer (version) && this.floorVersion.older (version)));
+	/**
+	 * Compiles this range into a matcher which is optimized for testing large amounts of versions.
+	 * @return The matcher.
+	 */
+	public VersionRangeMatcher compile () {
+		return new VersionRangeMatcher (this);
 	}
 
 	/**
@@ -241,26 +425,110 @@ public class SimpleVersionRange {
 		SimpleVersionRange range = ((SimpleVersionRange) obj);
 
 		// check
-		return (range.getCeilingVersion ().equals (this.getCeilingVersion ()) && range.getFloorVersion ().equals (this.getFloorVersion ()) && range.isCeilingFuzzy () == this.isCeilingFuzzy () && range.isFloorVersionFuzzy () == this.isFloorVersionFuzzy ());
+		return (Objects.equal (range.getCeilingVersion (), this.getCeilingVersion ()) && range.getFloorVersion ().equals (this.getFloorVersion ()) && range.isCeilingFuzzy () == this.isCeilingFuzzy () && range.isFloorVersionFuzzy () == this.isFloorVersionFuzzy ());
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public String toString () {
-		StringBuilder builder = new StringBuilder ();
+	public int hashCode () {
+		return this.hash;
+	}
+
+	/**
+	 * Appends the string representation of this range (as returned by {@link #toString()}).
+	 * Note: No intermediate objects are allocated. Open ranges with an inclusive floor are exported in their simplified
+	 * form (e.g. 1.0.0) while open ranges with an exclusive floor are exported with an empty ceiling (e.g. (1.0.0,)).
+	 * Both forms are accepted by the parser.
+	 * @param appendable The target.
+	 * @return The target.
+	 * @throws IOException
+	 */
+	public Appendable appendTo (@Nonnull Appendable appendable) throws IOException {
+		Preconditions.checkNotNull (appendable, "appendable");
+
+		// use the cached representation if possible
+		String string = this.string;
+		if (string != null) return appendable.append (string);
+
+		// append simplified range
+		if (this.getCeilingVersion () == null && this.isFloorVersionFuzzy ()) return this.getFloorVersion ().appendTo (appendable);
 
 		// append floor selector
-		builder.append ((this.isFloorVersionFuzzy () ? FLOOR_SELECTOR_FUZZY : FLOOR_SELECTOR));
-		builder.append (this.getFloorVersion ().toString ());
-		builder.append (RANGE_SEPARATOR);
+		appendable.append ((this.isFloorVersionFuzzy () ? FLOOR_SELECTOR_FUZZY : FLOOR_SELECTOR));
+		this.getFloorVersion ().appendTo (appendable);
+		appendable.append (RANGE_SEPARATOR);
 
 		// append ceiling selector
-		builder.append (this.getCeilingVersion ().toString ());
-		builder.append ((this.isCeilingFuzzy () ? CEIL_SELECTOR_FUZZY : CEIL_SELECTOR));
+		if (this.getCeilingVersion () != null) this.getCeilingVersion ().appendTo (appendable);
+		appendable.append ((this.isCeilingFuzzy () ? CEIL_SELECTOR_FUZZY : CEIL_SELECTOR));
+
+		return appendable;
+	}
+
+	/**
+	 * Appends the string representation of this range (as returned by {@link #toString()}).
+	 * @param builder The target.
+	 * @return The target.
+	 */
+	public StringBuilder appendTo (@Nonnull StringBuilder builder) {
+		try {
+			this.appendTo ((Appendable) builder);
+			return builder;
+		} catch (IOException ex) {
+			throw new AssertionError (ex);
+		}
+	}
+
+	/**
+	 * Writes the string representation of this range (as returned by {@link #toString()}) as ASCII.
+	 * Note: Characters which cannot be represented as ASCII are replaced with '?'. The buffer position is left untouched
+	 * if the buffer is too small.
+	 * @param buffer The target.
+	 * @return The target.
+	 * @throws BufferOverflowException when the buffer is too small.
+	 */
+	public ByteBuffer appendTo (@Nonnull ByteBuffer buffer) {
+		Preconditions.checkNotNull (buffer, "buffer");
+
+		int position = buffer.position ();
+
+		try {
+			// use the cached representation if possible
+			String string = this.string;
+
+			if (string != null) {
+				VersionWriter.put (buffer, string);
+				return buffer;
+			}
+
+			// append simplified range
+			if (this.getCeilingVersion () == null && this.isFloorVersionFuzzy ()) return this.getFloorVersion ().appendTo (buffer);
+
+			// append floor selector
+			VersionWriter.put (buffer, (this.isFloorVersionFuzzy () ? FLOOR_SELECTOR_FUZZY : FLOOR_SELECTOR));
+			this.getFloorVersion ().appendTo (buffer);
+			VersionWriter.put (buffer, RANGE_SEPARATOR);
+
+			// append ceiling selector
+			if (this.getCeilingVersion () != null) this.getCeilingVersion ().appendTo (buffer);
+			VersionWriter.put (buffer, (this.isCeilingFuzzy () ? CEIL_SELECTOR_FUZZY : CEIL_SELECTOR));
+		} catch (BufferOverflowException ex) {
+			buffer.position (position);
+			throw ex;
+		}
+
+		return buffer;
+	}
 
-		// return finished selector
-		return builder.toString ();
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		String string = this.string;
+		if (string == null) this.string = string = this.appendTo (new StringBuilder ()).toString ();
+		return string;
 	}
 }
\ No newline at end of file
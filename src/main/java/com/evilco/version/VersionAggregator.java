@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Keeps track of the newest version, the newest stable version and the newest distinct versions of a version stream.
+ * Versions are ordered like {@link SimpleVersion#compareTo(SimpleVersion)} (alpha &lt; beta &lt; snapshot &lt; release
+ * candidate &lt; stable). Adding a version takes constant time for the newest (stable) version and O(log k) for the
+ * newest k versions. Aggregates of separate partitions may be combined through {@link #merge(VersionAggregator)}; the
+ * first of all equal versions is retained (in stream order, assuming partitions are merged in order).
+ * Note: Instances are not thread safe (use one aggregator per partition and merge them afterwards).
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionAggregator {
+
+	/**
+	 * Stores the maximum amount of tracked newest versions.
+	 */
+	private final int limit;
+
+	/**
+	 * Stores the newest distinct versions (at most {@link #limit} elements).
+	 */
+	private final TreeSet<SimpleVersion> newest;
+
+	/**
+	 * Stores the newest version (or null).
+	 */
+	private SimpleVersion max;
+
+	/**
+	 * Stores the newest stable version (or null).
+	 */
+	private SimpleVersion latestStable;
+
+	/**
+	 * Stores the amount of aggregated versions.
+	 */
+	private long count;
+
+	/**
+	 * Constructs a new VersionAggregator instance which does not track the newest k versions.
+	 */
+	public VersionAggregator () {
+		this (0);
+	}
+
+	/**
+	 * Constructs a new VersionAggregator instance.
+	 * @param limit The amount of newest distinct versions to track.
+	 */
+	public VersionAggregator (int limit) {
+		Preconditions.checkArgument (limit >= 0, "limit must be positive or zero");
+
+		this.limit = limit;
+		this.newest = new TreeSet<SimpleVersion> (ParallelVersions.ORDER);
+	}
+
+	/**
+	 * Adds a version.
+	 * @param version The version.
+	 * @return This aggregator.
+	 */
+	@Nonnull
+	public VersionAggregator add (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		this.count++;
+		this.update (version);
+		return this;
+	}
+
+	/**
+	 * Adds a set of versions.
+	 * @param versions The versions.
+	 * @return This aggregator.
+	 */
+	@Nonnull
+	public VersionAggregator addAll (@Nonnull Iterable<? extends SimpleVersion> versions) {
+		Preconditions.checkNotNull (versions, "versions");
+
+		for (SimpleVersion version : versions) this.add (version);
+		return this;
+	}
+
+	/**
+	 * Merges the aggregate of another partition into this aggregator.
+	 * Note: The partition of this aggregator is assumed to precede the supplied partition.
+	 * @param aggregator The aggregator.
+	 * @return This aggregator.
+	 */
+	@Nonnull
+	public VersionAggregator merge (@Nonnull VersionAggregator aggregator) {
+		Preconditions.checkNotNull (aggregator, "aggregator");
+		Preconditions.checkArgument (aggregator != this, "Cannot merge an aggregator into itself");
+
+		this.count += aggregator.count;
+		if (aggregator.max != null) this.updateMax (aggregator.max);
+		if (aggregator.latestStable != null) this.updateLatestStable (aggregator.latestStable);
+
+		for (SimpleVersion version : aggregator.newest) this.updateNewest (version);
+		return this;
+	}
+
+	/**
+	 * Returns the amount of aggregated versions.
+	 * @return The amount of versions.
+	 */
+	public long getCount () {
+		return this.count;
+	}
+
+	/**
+	 * Returns the maximum amount of tracked newest versions.
+	 * @return The limit.
+	 */
+	public int getLimit () {
+		return this.limit;
+	}
+
+	/**
+	 * Returns the newest version.
+	 * @return The version or null if no versions have been aggregated.
+	 */
+	@Nullable
+	public SimpleVersion getMax () {
+		return this.max;
+	}
+
+	/**
+	 * Returns the newest stable version.
+	 * @return The version or null if no stable versions have been aggregated.
+	 */
+	@Nullable
+	public SimpleVersion getLatestStable () {
+		return this.latestStable;
+	}
+
+	/**
+	 * Returns the newest distinct versions.
+	 * @return The versions (newest first, at most {@link #getLimit()} elements).
+	 */
+	@Nonnull
+	public List<SimpleVersion> getNewest () {
+		return ImmutableList.copyOf (this.newest.descendingIterator ());
+	}
+
+	/**
+	 * Updates all aggregates with a version.
+	 * @param version The version.
+	 */
+	private void update (SimpleVersion version) {
+		this.updateMax (version);
+		if (!version.isUnstableBuild ()) this.updateLatestStable (version);
+		this.updateNewest (version);
+	}
+
+	/**
+	 * Updates the newest version.
+	 * @param version The version.
+	 */
+	private void updateMax (SimpleVersion version) {
+		if (this.max == null || ParallelVersions.ORDER.compare (version, this.max) > 0) this.max = version;
+	}
+
+	/**
+	 * Updates the newest stable version.
+	 * @param version The stable version.
+	 */
+	private void updateLatestStable (SimpleVersion version) {
+		if (this.latestStable == null || ParallelVersions.ORDER.compare (version, this.latestStable) > 0) this.latestStable = version;
+	}
+
+	/**
+	 * Updates the newest distinct versions.
+	 * @param version The version.
+	 */
+	private void updateNewest (SimpleVersion version) {
+		if (this.limit == 0) return;
+
+		// skip versions which are older than all tracked versions
+		if (this.newest.size () == this.limit) {
+			if (ParallelVersions.ORDER.compare (version, this.newest.first ()) <= 0) return;
+			if (this.newest.add (version)) this.newest.pollFirst ();
+			return;
+		}
+
+		this.newest.add (version);
+	}
+}
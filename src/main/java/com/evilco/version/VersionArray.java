@@ -0,0 +1,506 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Provides an immutable, sorted collection of distinct versions.
+ * The version bits are stored in parallel primitive arrays which allows lookups to be performed with a binary search
+ * which never touches the version objects themselves.
+ * Note: Versions are ordered by {@link SimpleVersion#compareTo(SimpleVersion)}; equal versions are only stored once.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionArray implements Iterable<SimpleVersion> {
+
+	/**
+	 * Defines an empty array.
+	 */
+	static final VersionArray EMPTY = new VersionArray (new SimpleVersion[0], 0);
+
+	/**
+	 * Stores the versions.
+	 */
+	private final SimpleVersion[] versions;
+
+	/**
+	 * Stores the major version bits.
+	 */
+	private final int[] majorBits;
+
+	/**
+	 * Stores the minor version bits.
+	 */
+	private final int[] minorBits;
+
+	/**
+	 * Stores the maintenance version bits.
+	 */
+	private final int[] maintenanceBits;
+
+	/**
+	 * Stores the build version bits.
+	 */
+	private final int[] buildBits;
+
+	/**
+	 * Stores the qualifier ranks.
+	 */
+	private final byte[] qualifiers;
+
+	/**
+	 * Stores the unstable versions (zero for snapshots).
+	 */
+	private final int[] unstableVersions;
+
+	/**
+	 * Stores the index of the newest stable version at or below each index (or -1 if no such version exists).
+	 */
+	private final int[] stableIndices;
+
+	/**
+	 * Stores the index of the first element.
+	 */
+	private final int offset;
+
+	/**
+	 * Stores the amount of elements.
+	 */
+	private final int length;
+
+	/**
+	 * Constructs a new VersionArray instance.
+	 * @param versions The versions.
+	 */
+	public VersionArray (@Nonnull Collection<? extends SimpleVersion> versions) {
+		this (sort (versions), versions.size ());
+	}
+
+	/**
+	 * Constructs a new VersionArray instance.
+	 * @param versions The versions.
+	 */
+	public VersionArray (@Nonnull SimpleVersion... versions) {
+		this (Arrays.asList (versions));
+	}
+
+	/**
+	 * Constructs a new VersionArray instance.
+	 * Note: The array is adopted (and compacted in place) rather than copied.
+	 * @param versions The versions (sorted in ascending order; duplicates are dropped).
+	 * @param length The amount of versions to consider.
+	 */
+	private VersionArray (SimpleVersion[] versions, int length) {
+		// store versions
+		this.versions = versions;
+		this.majorBits = new int[length];
+		this.minorBits = new int[length];
+		this.maintenanceBits = new int[length];
+		this.buildBits = new int[length];
+		this.qualifiers = new byte[length];
+		this.unstableVersions = new int[length];
+		this.stableIndices = new int[length];
+		this.offset = 0;
+
+		int distinct = 0;
+
+		for (int i = 0; i < length; i++) {
+			SimpleVersion version = versions[i];
+			if (distinct != 0 && this.compare ((distinct - 1), version) == 0) continue;
+
+			versions[distinct] = version;
+			this.majorBits[distinct] = version.getMajor ();
+			this.minorBits[distinct] = version.getMinor ();
+			this.maintenanceBits[distinct] = version.getMaintenance ();
+			this.buildBits[distinct] = version.getBuild ();
+			this.qualifiers[distinct] = ((byte) version.getQualifier ().ordinal ());
+			this.unstableVersions[distinct] = getUnstableVersion (version);
+			this.stableIndices[distinct] = (version.isUnstableBuild () ? (distinct == 0 ? -1 : this.stableIndices[(distinct - 1)]) : distinct);
+			distinct++;
+		}
+
+		// release duplicates
+		Arrays.fill (versions, distinct, length, null);
+		this.length = distinct;
+	}
+
+	/**
+	 * Constructs a new VersionArray view.
+	 * @param parent The parent array.
+	 * @param offset The index of the first element.
+	 * @param length The amount of elements.
+	 */
+	private VersionArray (VersionArray parent, int offset, int length) {
+		this.versions = parent.versions;
+		this.majorBits = parent.majorBits;
+		this.minorBits = parent.minorBits;
+		this.maintenanceBits = parent.maintenanceBits;
+		this.buildBits = parent.buildBits;
+		this.qualifiers = parent.qualifiers;
+		this.unstableVersions = parent.unstableVersions;
+		this.stableIndices = parent.stableIndices;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Creates an array from a (potentially large) collection.
+	 * Note: The versions are sorted through {@link ParallelVersions#sortUnique(Collection)}.
+	 * @param versions The versions.
+	 * @return The array.
+	 */
+	@Nonnull
+	static VersionArray of (@Nonnull Collection<? extends SimpleVersion> versions) {
+		SimpleVersion[] sorted = ParallelVersions.sortUnique (versions);
+		return new VersionArray (sorted, sorted.length);
+	}
+
+	/**
+	 * Returns the amount of versions.
+	 * @return The size.
+	 */
+	public int size () {
+		return this.length;
+	}
+
+	/**
+	 * Checks whether the array is empty.
+	 * @return True if the array does not contain any versions.
+	 */
+	public boolean isEmpty () {
+		return (this.length == 0);
+	}
+
+	/**
+	 * Returns the version at the specified index.
+	 * @param index The index (zero being the oldest version).
+	 * @return The version.
+	 */
+	public SimpleVersion get (int index) {
+		Preconditions.checkElementIndex (index, this.length);
+		return this.versions[(this.offset + index)];
+	}
+
+	/**
+	 * Returns the oldest version.
+	 * @return The oldest version or null if the array is empty.
+	 */
+	@Nullable
+	public SimpleVersion first () {
+		return (this.length == 0 ? null : this.versions[this.offset]);
+	}
+
+	/**
+	 * Returns the newest version.
+	 * @return The newest version or null if the array is empty.
+	 */
+	@Nullable
+	public SimpleVersion last () {
+		return (this.length == 0 ? null : this.versions[(this.offset + this.length - 1)]);
+	}
+
+	/**
+	 * Returns the index of the specified version.
+	 * @param version The version.
+	 * @return The index or -1 if the version is not part of the array.
+	 */
+	public int indexOf (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		int index = this.search (version, true);
+		return (index < (this.offset + this.length) && this.compare (index, version) == 0 ? (index - this.offset) : -1);
+	}
+
+	/**
+	 * Checks whether the array contains the specified version.
+	 * @param version The version.
+	 * @return True if an equal version is part of the array.
+	 */
+	public boolean contains (@Nonnull SimpleVersion version) {
+		return (this.indexOf (version) != -1);
+	}
+
+	/**
+	 * Returns the newest version which is older than or equal to the specified version.
+	 * @param version The version.
+	 * @return The floor version or null.
+	 */
+	@Nullable
+	public SimpleVersion floor (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		int index = (this.search (version, false) - 1);
+		return (index >= this.offset ? this.versions[index] : null);
+	}
+
+	/**
+	 * Returns the oldest version which is newer than or equal to the specified version.
+	 * @param version The version.
+	 * @return The ceiling version or null.
+	 */
+	@Nullable
+	public SimpleVersion ceiling (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		int index = this.search (version, true);
+		return (index < (this.offset + this.length) ? this.versions[index] : null);
+	}
+
+	/**
+	 * Returns the newest version.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @return The newest (stable) version or null.
+	 */
+	@Nullable
+	SimpleVersion latest (boolean stableOnly) {
+		int index = (this.offset + this.length - 1);
+		if (stableOnly && index >= this.offset) index = this.stableIndices[index];
+
+		return (index >= this.offset ? this.versions[index] : null);
+	}
+
+	/**
+	 * Creates a copy which contains an additional version.
+	 * @param version The version.
+	 * @return The copy or this array if an equal version is already present.
+	 */
+	@Nonnull
+	VersionArray with (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		int end = (this.offset + this.length);
+		int index = this.search (version, true);
+		if (index < end && this.compare (index, version) == 0) return this;
+
+		// insert version
+		int position = (index - this.offset);
+		SimpleVersion[] versions = new SimpleVersion[(this.length + 1)];
+		System.arraycopy (this.versions, this.offset, versions, 0, position);
+		versions[position] = version;
+		System.arraycopy (this.versions, index, versions, (position + 1), (end - index));
+
+		return new VersionArray (versions, versions.length);
+	}
+
+	/**
+	 * Creates a copy which does not contain a version.
+	 * @param version The version.
+	 * @return The copy or this array if no equal version is present.
+	 */
+	@Nonnull
+	VersionArray without (@Nonnull SimpleVersion version) {
+		int position = this.indexOf (version);
+		if (position == -1) return this;
+		if (this.length == 1) return EMPTY;
+
+		// remove version
+		SimpleVersion[] versions = new SimpleVersion[(this.length - 1)];
+		System.arraycopy (this.versions, this.offset, versions, 0, position);
+		System.arraycopy (this.versions, (this.offset + position + 1), versions, position, (this.length - position - 1));
+
+		return new VersionArray (versions, versions.length);
+	}
+
+	/**
+	 * Creates a copy which additionally contains all versions of another array.
+	 * Note: Both arrays are merged in a single linear pass. Versions which are already present are retained.
+	 * @param versions The versions.
+	 * @return The copy or this array if all versions are already present.
+	 */
+	@Nonnull
+	VersionArray merge (@Nonnull VersionArray versions) {
+		Preconditions.checkNotNull (versions, "versions");
+		if (versions.length == 0) return this;
+		if (this.length == 0) return versions;
+
+		SimpleVersion[] merged = new SimpleVersion[(this.length + versions.length)];
+		int i = this.offset;
+		int j = versions.offset;
+		int k = 0;
+		int end = (this.offset + this.length);
+		int otherEnd = (versions.offset + versions.length);
+
+		while (i < end && j < otherEnd) {
+			int comparison = this.compare (i, versions.versions[j]);
+
+			if (comparison < 0)
+				merged[k++] = this.versions[i++];
+			else if (comparison > 0)
+				merged[k++] = versions.versions[j++];
+			else {
+				merged[k++] = this.versions[i++];
+				j++;
+			}
+		}
+
+		while (i < end) merged[k++] = this.versions[i++];
+		while (j < otherEnd) merged[k++] = versions.versions[j++];
+
+		// nothing has been added
+		if (k == this.length) return this;
+		return new VersionArray (merged, k);
+	}
+
+	/**
+	 * Returns all versions within the specified range.
+	 * Note: The returned array shares its storage with this array.
+	 * @param range The range.
+	 * @return The matching versions.
+	 */
+	public VersionArray subRange (@Nonnull SimpleVersionRange range) {
+		Preconditions.checkNotNull (range, "range");
+
+		// find bounds
+		int from = this.search (range.getFloorVersion (), range.isFloorVersionFuzzy ());
+		int to = (this.offset + this.length);
+		if (range.getCeilingVersion () != null) to = this.search (range.getCeilingVersion (), !range.isCeilingFuzzy ());
+
+		// create view
+		if (from == this.offset && to == (this.offset + this.length)) return this;
+		return new VersionArray (this, from, Math.max (0, (to - from)));
+	}
+
+	/**
+	 * Returns the newest version within the specified range.
+	 * @param range The range.
+	 * @return The newest matching version or null.
+	 */
+	@Nullable
+	public SimpleVersion latest (@Nonnull SimpleVersionRange range) {
+		return this.latest (range, false);
+	}
+
+	/**
+	 * Returns the newest version within the specified range.
+	 * @param range The range.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @return The newest matching version or null.
+	 */
+	@Nullable
+	SimpleVersion latest (@Nonnull SimpleVersionRange range, boolean stableOnly) {
+		Preconditions.checkNotNull (range, "range");
+
+		// find bounds
+		int from = this.search (range.getFloorVersion (), range.isFloorVersionFuzzy ());
+		int to = (this.offset + this.length);
+		if (range.getCeilingVersion () != null) to = this.search (range.getCeilingVersion (), !range.isCeilingFuzzy ());
+
+		// skip unstable versions
+		int index = (to - 1);
+		if (stableOnly && index >= from) index = this.stableIndices[index];
+
+		return (index >= from ? this.versions[index] : null);
+	}
+
+	/**
+	 * Returns an unmodifiable list view of this array.
+	 * @return The list.
+	 */
+	public List<SimpleVersion> asList () {
+		return Collections.unmodifiableList (Arrays.asList (this.versions).subList (this.offset, (this.offset + this.length)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<SimpleVersion> iterator () {
+		return this.asList ().iterator ();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		return this.asList ().toString ();
+	}
+
+	/**
+	 * Compares the element at the specified (absolute) index to a version.
+	 * @param index The index.
+	 * @param version The version.
+	 * @return A negative integer, zero or a positive integer if the element is older, equal to or newer than the version.
+	 */
+	private int compare (int index, SimpleVersion version) {
+		if (this.majorBits[index] != version.getMajor ()) return (this.majorBits[index] < version.getMajor () ? -1 : 1);
+		if (this.minorBits[index] != version.getMinor ()) return (this.minorBits[index] < version.getMinor () ? -1 : 1);
+		if (this.maintenanceBits[index] != version.getMaintenance ()) return (this.maintenanceBits[index] < version.getMaintenance () ? -1 : 1);
+		if (this.buildBits[index] != version.getBuild ()) return (this.buildBits[index] < version.getBuild () ? -1 : 1);
+		if (this.qualifiers[index] != version.getQualifier ().ordinal ()) return (this.qualifiers[index] < version.getQualifier ().ordinal () ? -1 : 1);
+
+		int unstableVersion = getUnstableVersion (version);
+		if (this.unstableVersions[index] != unstableVersion) return (this.unstableVersions[index] < unstableVersion ? -1 : 1);
+		return 0;
+	}
+
+	/**
+	 * Finds the (absolute) index of the first element which is newer than (or equal to) the specified version.
+	 * @param version The version.
+	 * @param inclusive True if equal elements shall be included.
+	 * @return The index (offset + length if no such element exists).
+	 */
+	private int search (SimpleVersion version, boolean inclusive) {
+		int low = this.offset;
+		int high = (this.offset + this.length);
+
+		while (low < high) {
+			int middle = ((low + high) >>> 1);
+			int result = this.compare (middle, version);
+
+			if (result < 0 || (result == 0 && !inclusive))
+				low = (middle + 1);
+			else
+				high = middle;
+		}
+
+		return low;
+	}
+
+	/**
+	 * Copies a collection of versions into a sorted array.
+	 * @param versions The versions.
+	 * @return The sorted versions.
+	 */
+	private static SimpleVersion[] sort (Collection<? extends SimpleVersion> versions) {
+		Preconditions.checkNotNull (versions, "versions");
+
+		SimpleVersion[] sorted = versions.toArray (new SimpleVersion[versions.size ()]);
+		for (int i = 0; i < sorted.length; i++) Preconditions.checkNotNull (sorted[i], "versions[" + i + "]");
+
+		Arrays.sort (sorted);
+		return sorted;
+	}
+
+	/**
+	 * Returns the comparable unstable version of a version.
+	 * @param version The version.
+	 * @return The unstable version (zero for snapshots).
+	 */
+	private static int getUnstableVersion (SimpleVersion version) {
+		return (version.isSnapshotBuild () ? 0 : version.getUnstableVersion ());
+	}
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents the result of parsing a batch of versions.
+ * Invalid versions do not abort the batch. Instead they are reported as failures (consisting of the input index and
+ * the rejection reason) while their slot in the result is left empty. No exceptions are created for invalid versions
+ * and error messages are only built upon request.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionBatch {
+
+	/**
+	 * Defines the initial size of the read buffer.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Stores the parsed versions (null for invalid versions).
+	 */
+	private final SimpleVersion[] versions;
+
+	/**
+	 * Stores the amount of versions.
+	 */
+	private final int size;
+
+	/**
+	 * Stores the failures (in input order).
+	 */
+	private final List<Failure> failures;
+
+	/**
+	 * Constructs a new VersionBatch instance.
+	 * @param versions The parsed versions.
+	 * @param size The amount of versions.
+	 * @param failures The failures.
+	 */
+	private VersionBatch (@Nonnull SimpleVersion[] versions, int size, @Nonnull List<Failure> failures) {
+		this.versions = versions;
+		this.size = size;
+		this.failures = failures;
+	}
+
+	/**
+	 * Parses an array of versions.
+	 * @param versions The versions.
+	 * @return The batch.
+	 */
+	@Nonnull
+	public static VersionBatch parse (@Nonnull CharSequence[] versions) {
+		return parse (versions, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Parses an array of versions.
+	 * @param versions The versions.
+	 * @param grammar The grammar.
+	 * @return The batch.
+	 */
+	@Nonnull
+	public static VersionBatch parse (@Nonnull CharSequence[] versions, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (versions, "versions");
+
+		Builder builder = new Builder (versions.length, grammar);
+
+		for (CharSequence version : versions) {
+			Preconditions.checkNotNull (version, "version");
+			builder.add (version, 0, version.length ());
+		}
+
+		return builder.build ();
+	}
+
+	/**
+	 * Parses a newline delimited list of versions (one version per line).
+	 * Note: Lines are parsed straight from the read buffer. Trailing carriage returns are stripped and a trailing line
+	 * break does not produce an additional (empty) entry. The reader is not closed.
+	 * @param reader The reader.
+	 * @return The batch.
+	 * @throws IOException
+	 */
+	@Nonnull
+	public static VersionBatch parse (@Nonnull Reader reader) throws IOException {
+		return parse (reader, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Parses a newline delimited list of versions (one version per line).
+	 * @param reader The reader.
+	 * @param grammar The grammar.
+	 * @return The batch.
+	 * @throws IOException
+	 */
+	@Nonnull
+	public static VersionBatch parse (@Nonnull Reader reader, @Nonnull VersionGrammar grammar) throws IOException {
+		Preconditions.checkNotNull (reader, "reader");
+
+		Builder builder = new Builder (16, grammar);
+		char[] buffer = new char[BUFFER_SIZE];
+		CharBuffer sequence = CharBuffer.wrap (buffer);
+		int length = 0;
+		int lineStart = 0;
+		int position = 0;
+
+		while (true) {
+			// make room for more data
+			if (length == buffer.length) {
+				if (lineStart > 0) {
+					System.arraycopy (buffer, lineStart, buffer, 0, (length - lineStart));
+				} else {
+					buffer = Arrays.copyOf (buffer, (buffer.length * 2));
+					sequence = CharBuffer.wrap (buffer);
+				}
+
+				length -= lineStart;
+				position -= lineStart;
+				lineStart = 0;
+			}
+
+			// read data
+			int read = reader.read (buffer, length, (buffer.length - length));
+			if (read == -1) break;
+			length += read;
+
+			// process all complete lines
+			for (; position < length; position++) {
+				if (buffer[position] != '\n') continue;
+
+				builder.add (sequence, lineStart, stripCarriageReturn (buffer, lineStart, position));
+				lineStart = (position + 1);
+			}
+		}
+
+		// process last line
+		if (lineStart < length) builder.add (sequence, lineStart, stripCarriageReturn (buffer, lineStart, length));
+
+		return builder.build ();
+	}
+
+	/**
+	 * Parses a newline delimited (UTF-8 encoded) file of versions (one version per line).
+	 * @param path The file path.
+	 * @return The batch.
+	 * @throws IOException
+	 */
+	@Nonnull
+	public static VersionBatch parse (@Nonnull Path path) throws IOException {
+		return parse (path, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Parses a newline delimited (UTF-8 encoded) file of versions (one version per line).
+	 * @param path The file path.
+	 * @param grammar The grammar.
+	 * @return The batch.
+	 * @throws IOException
+	 */
+	@Nonnull
+	public static VersionBatch parse (@Nonnull Path path, @Nonnull VersionGrammar grammar) throws IOException {
+		Preconditions.checkNotNull (path, "path");
+
+		try (Reader reader = Files.newBufferedReader (path, Charsets.UTF_8)) {
+			return parse (reader, grammar);
+		}
+	}
+
+	/**
+	 * Returns the version at the specified index.
+	 * @param index The index.
+	 * @return The version or null (if the version at the specified index is invalid).
+	 */
+	@Nullable
+	public SimpleVersion get (int index) {
+		Preconditions.checkElementIndex (index, this.size);
+		return this.versions[index];
+	}
+
+	/**
+	 * Returns the failures in input order.
+	 * @return The failures.
+	 */
+	@Nonnull
+	public List<Failure> getFailures () {
+		return this.failures;
+	}
+
+	/**
+	 * Checks whether any of the versions was rejected.
+	 * @return True if at least one version is invalid.
+	 */
+	public boolean hasFailures () {
+		return !this.failures.isEmpty ();
+	}
+
+	/**
+	 * Returns the amount of parsed entries (including invalid ones).
+	 * @return The amount of entries.
+	 */
+	public int size () {
+		return this.size;
+	}
+
+	/**
+	 * Returns all versions in input order.
+	 * @return The versions (invalid versions are represented by null).
+	 */
+	@Nonnull
+	public SimpleVersion[] toArray () {
+		return Arrays.copyOf (this.versions, this.size);
+	}
+
+	/**
+	 * Returns the packed keys of all versions in input order.
+	 * @return The keys (invalid or unpackable versions are represented by {@link PackedVersion#INVALID}).
+	 */
+	@Nonnull
+	public long[] toPackedKeys () {
+		long[] keys = new long[this.size];
+
+		for (int i = 0; i < this.size; i++) {
+			keys[i] = (this.versions[i] != null ? this.versions[i].getPackedKey () : PackedVersion.INVALID);
+		}
+
+		return keys;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		return "VersionBatch{size=" + this.size + ", failures=" + this.failures.size () + "}";
+	}
+
+	/**
+	 * Returns the end of a line without its trailing carriage return.
+	 * @param buffer The buffer.
+	 * @param start The start of the line (inclusive).
+	 * @param end The end of the line (exclusive).
+	 * @return The end of the line.
+	 */
+	private static int stripCarriageReturn (char[] buffer, int start, int end) {
+		return (end > start && buffer[end - 1] == '\r' ? (end - 1) : end);
+	}
+
+	/**
+	 * Collects the results of a batch.
+	 */
+	static final class Builder {
+
+		/**
+		 * Stores the scanner.
+		 */
+		private final VersionScanner scanner = new VersionScanner ();
+
+		/**
+		 * Stores the grammar.
+		 */
+		private final VersionGrammar grammar;
+
+		/**
+		 * Stores the failures.
+		 */
+		private final ImmutableList.Builder<Failure> failures = ImmutableList.builder ();
+
+		/**
+		 * Stores the versions.
+		 */
+		private SimpleVersion[] versions;
+
+		/**
+		 * Stores the amount of versions.
+		 */
+		private int size = 0;
+
+		/**
+		 * Constructs a new Builder instance.
+		 * @param capacity The initial capacity.
+		 * @param grammar The grammar.
+		 */
+		Builder (int capacity, @Nonnull VersionGrammar grammar) {
+			this.versions = new SimpleVersion[capacity];
+			this.grammar = Preconditions.checkNotNull (grammar, "grammar");
+		}
+
+		/**
+		 * Parses a version and appends the result.
+		 * @param sequence The sequence.
+		 * @param start The start of the version (inclusive).
+		 * @param end The end of the version (exclusive).
+		 */
+		void add (CharSequence sequence, int start, int end) {
+			if (this.size == this.versions.length) this.versions = Arrays.copyOf (this.versions, Math.max (16, (this.versions.length * 2)));
+
+			if (this.scanner.scan (sequence, start, end, this.grammar))
+				this.versions[this.size] = this.scanner.createVersion ();
+			else
+				this.failures.add (new Failure (this.size, this.scanner));
+
+			this.size++;
+		}
+
+		/**
+		 * Builds the batch.
+		 * @return The batch.
+		 */
+		VersionBatch build () {
+			return new VersionBatch (this.versions, this.size, this.failures.build ());
+		}
+	}
+
+	/**
+	 * Represents a rejected version.
+	 */
+	public static final class Failure {
+
+		/**
+		 * Stores the input index.
+		 */
+		private final int index;
+
+		/**
+		 * Stores the error.
+		 */
+		private final VersionParserError error;
+
+		/**
+		 * Stores the index of the invalid version bit.
+		 */
+		private final int errorBit;
+
+		/**
+		 * Stores the invalid version bit (or null if the version was rejected due to whitespaces).
+		 */
+		private final String errorToken;
+
+		/**
+		 * Stores the error message (computed upon first use).
+		 * Note: Racing threads may build the message more than once which is harmless since strings are immutable.
+		 */
+		private String message;
+
+		/**
+		 * Constructs a new Failure instance.
+		 * Note: Only the invalid version bit is copied since the input may be a large or mutable sequence.
+		 * @param index The input index.
+		 * @param scanner The scanner which rejected the version.
+		 */
+		private Failure (int index, @Nonnull VersionScanner scanner) {
+			this.index = index;
+			this.error = scanner.error;
+			this.errorBit = scanner.errorBit;
+			this.errorToken = (scanner.error == VersionParserError.WHITESPACE ? null : scanner.source.subSequence (scanner.errorPosition, scanner.errorEnd).toString ());
+		}
+
+		/**
+		 * Returns the error.
+		 * @return The error.
+		 */
+		@Nonnull
+		public VersionParserError getError () {
+			return this.error;
+		}
+
+		/**
+		 * Returns the input index (the line number for readers and files, starting at zero).
+		 * @return The index.
+		 */
+		public int getIndex () {
+			return this.index;
+		}
+
+		/**
+		 * Returns the error message (matches the message of the exception thrown by the version constructor).
+		 * @return The error message.
+		 */
+		@Nonnull
+		public String getMessage () {
+			if (this.message == null) this.message = VersionScanner.getErrorMessage (this.error, this.errorToken, this.errorBit, 0, (this.errorToken == null ? 0 : this.errorToken.length ()));
+			return this.message;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString () {
+			return this.index + ": " + this.error + " (" + this.getMessage () + ")";
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides a bounded, thread safe cache which maps version strings to canonical (shared) version instances.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public class VersionCache {
+
+	/**
+	 * Defines the default maximum amount of cached versions.
+	 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+	/**
+	 * Stores the backing cache.
+	 */
+	protected final LoadingCache<String, SimpleVersion> cache;
+
+	/**
+	 * Constructs a new VersionCache instance.
+	 * @param maximumSize The maximum amount of cached versions (least recently used versions are evicted first).
+	 * @param expireAfterAccess The duration after which unused versions are evicted (zero or less disables expiration).
+	 * @param unit The duration unit.
+	 */
+	public VersionCache (long maximumSize, long expireAfterAccess, @Nonnull TimeUnit unit) {
+		Preconditions.checkArgument (maximumSize >= 0, "maximumSize");
+		Preconditions.checkNotNull (unit, "unit");
+
+		// build cache
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder ().maximumSize (maximumSize).recordStats ();
+		if (expireAfterAccess > 0) builder.expireAfterAccess (expireAfterAccess, unit);
+
+		this.cache = builder.build (new CacheLoader<String, SimpleVersion> () {
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public SimpleVersion load (String key) throws Exception {
+				return new SimpleVersion (key);
+			}
+		});
+	}
+
+	/**
+	 * Constructs a new VersionCache instance.
+	 * @param maximumSize The maximum amount of cached versions (least recently used versions are evicted first).
+	 */
+	public VersionCache (long maximumSize) {
+		this (maximumSize, 0, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Constructs a new VersionCache instance.
+	 */
+	public VersionCache () {
+		this (DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Returns the canonical version instance for the supplied version string.
+	 * @param version A string representation of the version.
+	 * @return The version.
+	 * @throws VersionParserException
+	 */
+	public SimpleVersion get (@Nonnull CharSequence version) throws VersionParserException {
+		Preconditions.checkNotNull (version, "version");
+
+		try {
+			return this.cache.get (version.toString ());
+		} catch (ExecutionException ex) {
+			if (ex.getCause () instanceof VersionParserException) throw ((VersionParserException) ex.getCause ());
+			throw new VersionParserException (ex.getCause ());
+		}
+	}
+
+	/**
+	 * Returns the amount of lookups which returned a cached version.
+	 * @return The hit count.
+	 */
+	public long getHitCount () {
+		return this.cache.stats ().hitCount ();
+	}
+
+	/**
+	 * Returns the amount of lookups which required a version to be parsed.
+	 * @return The miss count.
+	 */
+	public long getMissCount () {
+		return this.cache.stats ().missCount ();
+	}
+
+	/**
+	 * Returns the amount of evicted versions.
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount () {
+		return this.cache.stats ().evictionCount ();
+	}
+
+	/**
+	 * Returns the approximate amount of cached versions.
+	 * @return The cache size.
+	 */
+	public long size () {
+		return this.cache.size ();
+	}
+
+	/**
+	 * Removes all cached versions.
+	 */
+	public void invalidateAll () {
+		this.cache.invalidateAll ();
+	}
+}
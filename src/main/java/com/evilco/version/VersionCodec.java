@@ -0,0 +1,522 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Provides a compact binary representation of versions and version ranges.
+ * A version is encoded as a header byte (qualifier ordinal in bits 0-2, bit 3 set if an extra bit follows), the
+ * zig-zag varint encoded major, minor, maintenance and build bits, the unstable version (unstable builds only) and the
+ * UTF-8 encoded extra bit (prefixed by its varint length). A range is encoded as a flag byte (bit 0 floor fuzzy, bit 1
+ * ceiling fuzzy, bit 2 ceiling present) followed by the floor version and the optional ceiling version.
+ * Decoding does not scan or classify the extra bit again. Decoded objects are equal to the encoded objects.
+ * Note: Grammars are not encoded (decoded versions are exported through the grammar passed to the read methods).
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionCodec {
+
+	/**
+	 * Defines the header bit which indicates an encoded extra bit.
+	 */
+	private static final int HEADER_EXTRA = 0x08;
+
+	/**
+	 * Defines the header bits which store the qualifier ordinal.
+	 */
+	private static final int HEADER_QUALIFIER = 0x07;
+
+	/**
+	 * Defines the range flag which indicates a fuzzy floor version.
+	 */
+	private static final int RANGE_FLOOR_FUZZY = 0x01;
+
+	/**
+	 * Defines the range flag which indicates a fuzzy ceiling version.
+	 */
+	private static final int RANGE_CEILING_FUZZY = 0x02;
+
+	/**
+	 * Defines the range flag which indicates an encoded ceiling version.
+	 */
+	private static final int RANGE_CEILING = 0x04;
+
+	/**
+	 * Stores all qualifiers (indexed by ordinal).
+	 */
+	private static final VersionQualifier[] QUALIFIERS = VersionQualifier.values ();
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private VersionCodec () { }
+
+	/**
+	 * Calculates the encoded length of a version.
+	 * @param version The version.
+	 * @return The length in bytes.
+	 */
+	public static int getEncodedLength (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		int length = (1 + getVarIntLength (version.getMajor ()) + getVarIntLength (version.getMinor ()) + getVarIntLength (version.getMaintenance ()) + getVarIntLength (version.getBuild ()));
+		if (version.isUnstableBuild ()) length += getVarIntLength (version.getUnstableVersion ());
+
+		// append extra bit
+		String extraBit = version.getExtra ();
+
+		if (extraBit != null) {
+			int extraLength = getUTF8Length (extraBit);
+			length += (getVarIntLength (extraLength) + extraLength);
+		}
+
+		return length;
+	}
+
+	/**
+	 * Calculates the encoded length of a version range.
+	 * @param range The range.
+	 * @return The length in bytes.
+	 */
+	public static int getEncodedLength (@Nonnull SimpleVersionRange range) {
+		Preconditions.checkNotNull (range, "range");
+
+		int length = (1 + getEncodedLength (range.getFloorVersion ()));
+		if (range.getCeilingVersion () != null) length += getEncodedLength (range.getCeilingVersion ());
+		return length;
+	}
+
+	/**
+	 * Writes a version into a buffer.
+	 * Note: The buffer is not modified if the version does not fit.
+	 * @param version The version.
+	 * @param buffer The buffer.
+	 * @return The buffer.
+	 * @throws BufferOverflowException when the remaining buffer space is too small.
+	 */
+	public static ByteBuffer write (@Nonnull SimpleVersion version, @Nonnull ByteBuffer buffer) {
+		Preconditions.checkNotNull (buffer, "buffer");
+		if (getEncodedLength (version) > buffer.remaining ()) throw new BufferOverflowException ();
+
+		writeUnchecked (version, buffer);
+		return buffer;
+	}
+
+	/**
+	 * Writes a version range into a buffer.
+	 * Note: The buffer is not modified if the range does not fit.
+	 * @param range The range.
+	 * @param buffer The buffer.
+	 * @return The buffer.
+	 * @throws BufferOverflowException when the remaining buffer space is too small.
+	 */
+	public static ByteBuffer write (@Nonnull SimpleVersionRange range, @Nonnull ByteBuffer buffer) {
+		Preconditions.checkNotNull (buffer, "buffer");
+		if (getEncodedLength (range) > buffer.remaining ()) throw new BufferOverflowException ();
+
+		buffer.put ((byte) getRangeFlags (range));
+		writeUnchecked (range.getFloorVersion (), buffer);
+		if (range.getCeilingVersion () != null) writeUnchecked (range.getCeilingVersion (), buffer);
+
+		return buffer;
+	}
+
+	/**
+	 * Writes a version into a stream.
+	 * @param version The version.
+	 * @param output The output.
+	 * @throws IOException
+	 */
+	public static void write (@Nonnull SimpleVersion version, @Nonnull DataOutput output) throws IOException {
+		Preconditions.checkNotNull (version, "version");
+		Preconditions.checkNotNull (output, "output");
+
+		String extraBit = version.getExtra ();
+		output.writeByte (version.getQualifier ().ordinal () | (extraBit != null ? HEADER_EXTRA : 0));
+
+		writeVarInt (version.getMajor (), output);
+		writeVarInt (version.getMinor (), output);
+		writeVarInt (version.getMaintenance (), output);
+		writeVarInt (version.getBuild (), output);
+		if (version.isUnstableBuild ()) writeVarInt (version.getUnstableVersion (), output);
+
+		// write extra bit
+		if (extraBit == null) return;
+
+		if (isASCII (extraBit)) {
+			writeVarInt (extraBit.length (), output);
+			output.writeBytes (extraBit);
+		} else {
+			byte[] encoded = extraBit.getBytes (StandardCharsets.UTF_8);
+			writeVarInt (encoded.length, output);
+			output.write (encoded);
+		}
+	}
+
+	/**
+	 * Writes a version range into a stream.
+	 * @param range The range.
+	 * @param output The output.
+	 * @throws IOException
+	 */
+	public static void write (@Nonnull SimpleVersionRange range, @Nonnull DataOutput output) throws IOException {
+		Preconditions.checkNotNull (range, "range");
+		Preconditions.checkNotNull (output, "output");
+
+		output.writeByte (getRangeFlags (range));
+		write (range.getFloorVersion (), output);
+		if (range.getCeilingVersion () != null) write (range.getCeilingVersion (), output);
+	}
+
+	/**
+	 * Reads a version from a buffer.
+	 * @param buffer The buffer.
+	 * @return The version.
+	 * @throws BufferUnderflowException when the buffer ends prematurely.
+	 * @throws IllegalArgumentException when the buffer does not contain a valid version.
+	 */
+	public static SimpleVersion readVersion (@Nonnull ByteBuffer buffer) {
+		return readVersion (buffer, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Reads a version from a buffer.
+	 * @param buffer The buffer.
+	 * @param grammar The grammar used to export the version.
+	 * @return The version.
+	 * @throws BufferUnderflowException when the buffer ends prematurely.
+	 * @throws IllegalArgumentException when the buffer does not contain a valid version.
+	 */
+	public static SimpleVersion readVersion (@Nonnull ByteBuffer buffer, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (buffer, "buffer");
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		int header = (buffer.get () & 0xFF);
+		VersionQualifier qualifier = getQualifier (header);
+		if (qualifier == null) throw new IllegalArgumentException ("Invalid version header: 0x" + Integer.toHexString (header));
+
+		int majorBit = readVarInt (buffer);
+		int minorBit = readVarInt (buffer);
+		int maintenanceBit = readVarInt (buffer);
+		int buildBit = readVarInt (buffer);
+		int unstableVersion = (qualifier.isUnstable () ? readVarInt (buffer) : -1);
+
+		// read extra bit
+		String extraBit = null;
+
+		if ((header & HEADER_EXTRA) != 0) {
+			int length = readVarInt (buffer);
+			Preconditions.checkArgument (length >= 0, "Invalid extra bit length: %s", length);
+			if (length > buffer.remaining ()) throw new BufferUnderflowException ();
+
+			if (buffer.hasArray ()) {
+				extraBit = new String (buffer.array (), (buffer.arrayOffset () + buffer.position ()), length, StandardCharsets.UTF_8);
+				buffer.position (buffer.position () + length);
+			} else {
+				byte[] encoded = new byte[length];
+				buffer.get (encoded);
+				extraBit = new String (encoded, StandardCharsets.UTF_8);
+			}
+		}
+
+		return new SimpleVersion (majorBit, minorBit, maintenanceBit, buildBit, extraBit, grammar, qualifier, unstableVersion);
+	}
+
+	/**
+	 * Reads a version range from a buffer.
+	 * @param buffer The buffer.
+	 * @return The range.
+	 * @throws BufferUnderflowException when the buffer ends prematurely.
+	 * @throws IllegalArgumentException when the buffer does not contain a valid range.
+	 */
+	public static SimpleVersionRange readRange (@Nonnull ByteBuffer buffer) {
+		return readRange (buffer, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Reads a version range from a buffer.
+	 * @param buffer The buffer.
+	 * @param grammar The grammar used to export the range versions.
+	 * @return The range.
+	 * @throws BufferUnderflowException when the buffer ends prematurely.
+	 * @throws IllegalArgumentException when the buffer does not contain a valid range.
+	 */
+	public static SimpleVersionRange readRange (@Nonnull ByteBuffer buffer, @Nonnull VersionGrammar grammar) {
+		Preconditions.checkNotNull (buffer, "buffer");
+
+		int flags = (buffer.get () & 0xFF);
+		Preconditions.checkArgument ((flags & ~(RANGE_FLOOR_FUZZY | RANGE_CEILING_FUZZY | RANGE_CEILING)) == 0, "Invalid range flags: 0x%s", Integer.toHexString (flags));
+
+		SimpleVersion floorVersion = readVersion (buffer, grammar);
+		SimpleVersion ceilVersion = ((flags & RANGE_CEILING) != 0 ? readVersion (buffer, grammar) : null);
+
+		try {
+			return new SimpleVersionRange (floorVersion, ((flags & RANGE_FLOOR_FUZZY) != 0), ceilVersion, ((flags & RANGE_CEILING_FUZZY) != 0));
+		} catch (VersionParserException ex) {
+			throw new IllegalArgumentException (ex.getMessage (), ex);
+		}
+	}
+
+	/**
+	 * Reads a version from a stream.
+	 * @param input The input.
+	 * @return The version.
+	 * @throws IOException when the stream ends prematurely or does not contain a valid version.
+	 */
+	public static SimpleVersion readVersion (@Nonnull DataInput input) throws IOException {
+		return readVersion (input, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Reads a version from a stream.
+	 * @param input The input.
+	 * @param grammar The grammar used to export the version.
+	 * @return The version.
+	 * @throws IOException when the stream ends prematurely or does not contain a valid version.
+	 */
+	public static SimpleVersion readVersion (@Nonnull DataInput input, @Nonnull VersionGrammar grammar) throws IOException {
+		Preconditions.checkNotNull (input, "input");
+		Preconditions.checkNotNull (grammar, "grammar");
+
+		int header = input.readUnsignedByte ();
+		VersionQualifier qualifier = getQualifier (header);
+		if (qualifier == null) throw new IOException ("Invalid version header: 0x" + Integer.toHexString (header));
+
+		int majorBit = readVarInt (input);
+		int minorBit = readVarInt (input);
+		int maintenanceBit = readVarInt (input);
+		int buildBit = readVarInt (input);
+		int unstableVersion = (qualifier.isUnstable () ? readVarInt (input) : -1);
+
+		// read extra bit
+		String extraBit = null;
+
+		if ((header & HEADER_EXTRA) != 0) {
+			int length = readVarInt (input);
+			if (length < 0) throw new IOException ("Invalid extra bit length: " + length);
+
+			byte[] encoded = new byte[length];
+			input.readFully (encoded);
+			extraBit = new String (encoded, StandardCharsets.UTF_8);
+		}
+
+		return new SimpleVersion (majorBit, minorBit, maintenanceBit, buildBit, extraBit, grammar, qualifier, unstableVersion);
+	}
+
+	/**
+	 * Reads a version range from a stream.
+	 * @param input The input.
+	 * @return The range.
+	 * @throws IOException when the stream ends prematurely or does not contain a valid range.
+	 */
+	public static SimpleVersionRange readRange (@Nonnull DataInput input) throws IOException {
+		return readRange (input, VersionGrammar.DEFAULT);
+	}
+
+	/**
+	 * Reads a version range from a stream.
+	 * @param input The input.
+	 * @param grammar The grammar used to export the range versions.
+	 * @return The range.
+	 * @throws IOException when the stream ends prematurely or does not contain a valid range.
+	 */
+	public static SimpleVersionRange readRange (@Nonnull DataInput input, @Nonnull VersionGrammar grammar) throws IOException {
+		Preconditions.checkNotNull (input, "input");
+
+		int flags = input.readUnsignedByte ();
+		if ((flags & ~(RANGE_FLOOR_FUZZY | RANGE_CEILING_FUZZY | RANGE_CEILING)) != 0) throw new IOException ("Invalid range flags: 0x" + Integer.toHexString (flags));
+
+		SimpleVersion floorVersion = readVersion (input, grammar);
+		SimpleVersion ceilVersion = ((flags & RANGE_CEILING) != 0 ? readVersion (input, grammar) : null);
+
+		try {
+			return new SimpleVersionRange (floorVersion, ((flags & RANGE_FLOOR_FUZZY) != 0), ceilVersion, ((flags & RANGE_CEILING_FUZZY) != 0));
+		} catch (VersionParserException ex) {
+			throw new IOException (ex.getMessage (), ex);
+		}
+	}
+
+	/**
+	 * Writes a version into a buffer without verifying the remaining space.
+	 * @param version The version.
+	 * @param buffer The buffer.
+	 */
+	private static void writeUnchecked (SimpleVersion version, ByteBuffer buffer) {
+		String extraBit = version.getExtra ();
+		buffer.put ((byte) (version.getQualifier ().ordinal () | (extraBit != null ? HEADER_EXTRA : 0)));
+
+		writeVarInt (version.getMajor (), buffer);
+		writeVarInt (version.getMinor (), buffer);
+		writeVarInt (version.getMaintenance (), buffer);
+		writeVarInt (version.getBuild (), buffer);
+		if (version.isUnstableBuild ()) writeVarInt (version.getUnstableVersion (), buffer);
+
+		// write extra bit
+		if (extraBit == null) return;
+
+		if (isASCII (extraBit)) {
+			writeVarInt (extraBit.length (), buffer);
+			VersionWriter.put (buffer, extraBit);
+		} else {
+			byte[] encoded = extraBit.getBytes (StandardCharsets.UTF_8);
+			writeVarInt (encoded.length, buffer);
+			buffer.put (encoded);
+		}
+	}
+
+	/**
+	 * Builds the flags of a range.
+	 * @param range The range.
+	 * @return The flags.
+	 */
+	private static int getRangeFlags (SimpleVersionRange range) {
+		int flags = 0;
+		if (range.isFloorVersionFuzzy ()) flags |= RANGE_FLOOR_FUZZY;
+		if (range.isCeilingFuzzy ()) flags |= RANGE_CEILING_FUZZY;
+		if (range.getCeilingVersion () != null) flags |= RANGE_CEILING;
+		return flags;
+	}
+
+	/**
+	 * Extracts the qualifier from a version header.
+	 * @param header The header.
+	 * @return The qualifier or null if the header is invalid.
+	 */
+	private static VersionQualifier getQualifier (int header) {
+		if ((header & ~(HEADER_QUALIFIER | HEADER_EXTRA)) != 0) return null;
+
+		int ordinal = (header & HEADER_QUALIFIER);
+		return (ordinal < QUALIFIERS.length ? QUALIFIERS[ordinal] : null);
+	}
+
+	/**
+	 * Checks whether a string consists of ASCII characters only.
+	 * @param value The string.
+	 * @return True if all characters are ASCII characters.
+	 */
+	private static boolean isASCII (String value) {
+		int bits = 0;
+		for (int i = 0; i < value.length (); i++) bits |= value.charAt (i);
+		return (bits < 0x80);
+	}
+
+	/**
+	 * Calculates the UTF-8 encoded length of a string.
+	 * @param value The string.
+	 * @return The length in bytes.
+	 */
+	private static int getUTF8Length (String value) {
+		if (isASCII (value)) return value.length ();
+		return value.getBytes (StandardCharsets.UTF_8).length;
+	}
+
+	/**
+	 * Calculates the encoded length of a zig-zag varint.
+	 * @param value The value.
+	 * @return The length in bytes (1 to 5).
+	 */
+	private static int getVarIntLength (int value) {
+		int encoded = ((value << 1) ^ (value >> 31));
+
+		int length = 1;
+		while ((encoded & ~0x7F) != 0) {
+			encoded >>>= 7;
+			length++;
+		}
+
+		return length;
+	}
+
+	/**
+	 * Writes a zig-zag varint into a buffer.
+	 * @param value The value.
+	 * @param buffer The buffer.
+	 */
+	private static void writeVarInt (int value, ByteBuffer buffer) {
+		int encoded = ((value << 1) ^ (value >> 31));
+
+		while ((encoded & ~0x7F) != 0) {
+			buffer.put ((byte) ((encoded & 0x7F) | 0x80));
+			encoded >>>= 7;
+		}
+
+		buffer.put ((byte) encoded);
+	}
+
+	/**
+	 * Writes a zig-zag varint into a stream.
+	 * @param value The value.
+	 * @param output The output.
+	 * @throws IOException
+	 */
+	private static void writeVarInt (int value, DataOutput output) throws IOException {
+		int encoded = ((value << 1) ^ (value >> 31));
+
+		while ((encoded & ~0x7F) != 0) {
+			output.writeByte ((encoded & 0x7F) | 0x80);
+			encoded >>>= 7;
+		}
+
+		output.writeByte (encoded);
+	}
+
+	/**
+	 * Reads a zig-zag varint from a buffer.
+	 * @param buffer The buffer.
+	 * @return The value.
+	 * @throws IllegalArgumentException when the varint exceeds five bytes.
+	 */
+	private static int readVarInt (ByteBuffer buffer) {
+		int encoded = 0;
+
+		for (int shift = 0; shift < 35; shift += 7) {
+			int current = buffer.get ();
+			encoded |= ((current & 0x7F) << shift);
+			if ((current & 0x80) == 0) return ((encoded >>> 1) ^ -(encoded & 1));
+		}
+
+		throw new IllegalArgumentException ("Malformed varint: The value exceeds 32 bits.");
+	}
+
+	/**
+	 * Reads a zig-zag varint from a stream.
+	 * @param input The input.
+	 * @return The value.
+	 * @throws IOException when the varint exceeds five bytes.
+	 */
+	private static int readVarInt (DataInput input) throws IOException {
+		int encoded = 0;
+
+		for (int shift = 0; shift < 35; shift += 7) {
+			int current = input.readUnsignedByte ();
+			encoded |= ((current & 0x7F) << shift);
+			if ((current & 0x80) == 0) return ((encoded >>> 1) ^ -(encoded & 1));
+		}
+
+		throw new IOException ("Malformed varint: The value exceeds 32 bits.");
+	}
+}
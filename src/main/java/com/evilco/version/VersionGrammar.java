@@ -0,0 +1,527 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents an immutable version grammar (separators, qualifier names and case folding).
+ * Grammars are compiled once and may be shared freely between threads. Versions remember the grammar they were created
+ * with and use it whenever they are exported.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionGrammar {
+
+	/**
+	 * Defines the default grammar (X.X.X.X-EXTRA with case insensitive ALPHA/A, BETA/B, RC and SNAPSHOT qualifiers).
+	 */
+	public static final VersionGrammar DEFAULT = builder ()
+		.qualifier (VersionQualifier.ALPHA, "ALPHA", "A")
+		.qualifier (VersionQualifier.BETA, "BETA", "B")
+		.qualifier (VersionQualifier.RELEASE_CANDIDATE, "RC")
+		.qualifier (VersionQualifier.SNAPSHOT, "SNAPSHOT")
+		.build ();
+
+	/**
+	 * Stores the version separator.
+	 */
+	private final String separator;
+
+	/**
+	 * Stores the extra bit separator.
+	 */
+	private final String extraSeparator;
+
+	/**
+	 * Indicates whether qualifier names are case sensitive.
+	 */
+	private final boolean caseSensitive;
+
+	/**
+	 * Stores the qualifier names per kind (in declaration order).
+	 */
+	private final ImmutableMap<VersionQualifier, ImmutableList<String>> qualifierNames;
+
+	/**
+	 * Stores the qualifier lookup table (keys are folded to upper case unless the grammar is case sensitive).
+	 */
+	private final ImmutableMap<String, VersionQualifier> qualifierTable;
+
+	/**
+	 * Stores the (folded) qualifier names of the hash table (null for empty slots).
+	 * Note: Case insensitive grammars only store names which consist of ASCII characters. Other names (and extra bits
+	 * which contain non-ASCII characters) are resolved through {@link #qualifierTable}.
+	 */
+	private final char[][] hashNames;
+
+	/**
+	 * Stores the qualifier kinds of the hash table.
+	 */
+	private final VersionQualifier[] hashKinds;
+
+	/**
+	 * Stores the hash table mask.
+	 */
+	private final int hashMask;
+
+	/**
+	 * Constructs a new VersionGrammar instance.
+	 * @param builder The builder.
+	 */
+	private VersionGrammar (@Nonnull Builder builder) {
+		this.separator = builder.separator;
+		this.extraSeparator = builder.extraSeparator;
+		this.caseSensitive = builder.caseSensitive;
+
+		// compile lookup table
+		ImmutableMap.Builder<VersionQualifier, ImmutableList<String>> qualifierNames = ImmutableMap.builder ();
+		Map<String, VersionQualifier> qualifierTable = new HashMap<String, VersionQualifier> ();
+
+		for (Map.Entry<VersionQualifier, ImmutableList<String>> entry : builder.qualifierNames.entrySet ()) {
+			qualifierNames.put (entry);
+
+			for (String name : entry.getValue ()) {
+				VersionQualifier previous = qualifierTable.put (this.fold (name), entry.getKey ());
+				if (previous != null && previous != entry.getKey ()) throw new IllegalArgumentException ("Qualifier name " + name + " is assigned to " + previous + " and " + entry.getKey ());
+			}
+		}
+
+		this.qualifierNames = qualifierNames.build ();
+		this.qualifierTable = ImmutableMap.copyOf (qualifierTable);
+
+		// compile hash table (kept at most half full; collisions are resolved through linear probing)
+		int size = 8;
+		while (size < (qualifierTable.size () * 2)) size <<= 1;
+
+		this.hashNames = new char[size][];
+		this.hashKinds = new VersionQualifier[size];
+		this.hashMask = (size - 1);
+
+		for (Map.Entry<String, VersionQualifier> entry : qualifierTable.entrySet ()) {
+			String name = entry.getKey ();
+			if (!this.caseSensitive && !CharMatcher.ASCII.matchesAllOf (name)) continue;
+
+			int hash = 0;
+			for (int i = 0; i < name.length (); i++) hash = ((31 * hash) + foldAscii (name.charAt (i)));
+
+			int slot = (mix (hash) & this.hashMask);
+			while (this.hashNames[slot] != null) slot = ((slot + 1) & this.hashMask);
+
+			this.hashNames[slot] = name.toCharArray ();
+			this.hashKinds[slot] = entry.getValue ();
+		}
+	}
+
+	/**
+	 * Creates a new grammar builder (initialized with the default separators, no qualifiers and case folding).
+	 * @return The builder.
+	 */
+	@Nonnull
+	public static Builder builder () {
+		return new Builder ();
+	}
+
+	/**
+	 * Creates a new grammar builder which is initialized with the settings of this grammar.
+	 * @return The builder.
+	 */
+	@Nonnull
+	public Builder toBuilder () {
+		Builder builder = builder ().separator (this.separator).extraSeparator (this.extraSeparator).caseSensitive (this.caseSensitive);
+		builder.qualifierNames.putAll (this.qualifierNames);
+		return builder;
+	}
+
+	/**
+	 * Parses a version.
+	 * @param version The version.
+	 * @return The version.
+	 * @throws VersionParserException
+	 */
+	@Nonnull
+	public SimpleVersion parse (@Nonnull CharSequence version) throws VersionParserException {
+		Preconditions.checkNotNull (version, "version");
+		return new SimpleVersion (version, 0, version.length (), this);
+	}
+
+	/**
+	 * Parses a version without throwing an exception for malformed input.
+	 * @param version The version.
+	 * @return The result.
+	 */
+	@Nonnull
+	public VersionParseResult tryParse (@Nonnull CharSequence version) {
+		Preconditions.checkNotNull (version, "version");
+		return SimpleVersion.tryParse (version, 0, version.length (), this);
+	}
+
+	/**
+	 * Parses a version range.
+	 * @param versionRange The version range.
+	 * @return The version range.
+	 * @throws VersionParserException
+	 */
+	@Nonnull
+	public SimpleVersionRange parseRange (@Nonnull CharSequence versionRange) throws VersionParserException {
+		return new SimpleVersionRange (versionRange, this);
+	}
+
+	/**
+	 * Classifies an extra bit.
+	 * @param extraBit The extra bit.
+	 * @return The qualifier kind.
+	 */
+	@Nonnull
+	public VersionQualifier getQualifier (@Nullable String extraBit) {
+		if (extraBit == null) return VersionQualifier.STABLE;
+		return this.getQualifier (extraBit, 0, extraBit.length ());
+	}
+
+	/**
+	 * Classifies an extra bit.
+	 * Note: Names are resolved through a pre-computed hash table without allocating any objects (unless a case
+	 * insensitive grammar encounters non-ASCII characters).
+	 * @param sequence A character sequence containing the extra bit.
+	 * @param start The start of the extra bit (inclusive).
+	 * @param end The end of the extra bit (exclusive).
+	 * @return The qualifier kind.
+	 */
+	@Nonnull
+	public VersionQualifier getQualifier (@Nonnull CharSequence sequence, int start, int end) {
+		Preconditions.checkNotNull (sequence, "sequence");
+		Preconditions.checkPositionIndexes (start, end, sequence.length ());
+
+		// find the end of the name (strip unstable version)
+		char separatorChar = this.extraSeparator.charAt (0);
+		boolean singleCharacterSeparator = (this.extraSeparator.length () == 1);
+		int characters = 0;
+		int hash = 0;
+		int nameEnd = start;
+
+		for (; nameEnd < end; nameEnd++) {
+			char current = sequence.charAt (nameEnd);
+			if (current == separatorChar && (singleCharacterSeparator || VersionScanner.regionMatches (sequence, nameEnd, this.extraSeparator, end))) break;
+			characters |= current;
+			hash = ((31 * hash) + foldAscii (current));
+		}
+
+		boolean ascii = (characters <= 0x7F);
+
+		// check for normal builds
+		if (nameEnd == start) return VersionQualifier.STABLE;
+
+		// resolve names which cannot be folded character by character through the map
+		if (!ascii && !this.caseSensitive) {
+			VersionQualifier qualifier = this.qualifierTable.get (this.fold (sequence.subSequence (start, nameEnd).toString ()));
+			return (qualifier == null ? VersionQualifier.STABLE : qualifier);
+		}
+
+		// probe hash table
+		for (int slot = (mix (hash) & this.hashMask); this.hashNames[slot] != null; slot = ((slot + 1) & this.hashMask)) {
+			if (this.matches (this.hashNames[slot], sequence, start, nameEnd)) return this.hashKinds[slot];
+		}
+
+		return VersionQualifier.STABLE;
+	}
+
+	/**
+	 * Extracts the unstable version from an extra bit.
+	 * @param extraBit The extra bit.
+	 * @param qualifier The qualifier kind.
+	 * @return The unstable version (-1 for stable builds, 0 if no valid unstable version is present).
+	 */
+	int getUnstableVersion (@Nullable String extraBit, @Nonnull VersionQualifier qualifier) {
+		if (!qualifier.isUnstable ()) return -1;
+		return this.getUnstableVersion (extraBit, 0, extraBit.length (), qualifier);
+	}
+
+	/**
+	 * Extracts the unstable version from an extra bit.
+	 * @param sequence A character sequence containing the extra bit.
+	 * @param start The start of the extra bit (inclusive).
+	 * @param end The end of the extra bit (exclusive).
+	 * @param qualifier The qualifier kind.
+	 * @return The unstable version (-1 for stable builds, 0 if no valid unstable version is present).
+	 */
+	int getUnstableVersion (@Nonnull CharSequence sequence, int start, int end, @Nonnull VersionQualifier qualifier) {
+		// check for normal builds
+		if (!qualifier.isUnstable ()) return -1;
+
+		// check for version bit
+		int separatorPosition = this.indexOfExtraSeparator (sequence, start, end);
+		if (separatorPosition == -1) return 0;
+
+		// extract version bit
+		int versionStart = (separatorPosition + this.extraSeparator.length ());
+		int versionEnd = this.indexOfExtraSeparator (sequence, versionStart, end);
+
+		long version = VersionScanner.parseInt (sequence, versionStart, (versionEnd == -1 ? end : versionEnd));
+		return (version == Long.MIN_VALUE ? 0 : ((int) version));
+	}
+
+	/**
+	 * Searches the extra separator within a region.
+	 * @param sequence The sequence.
+	 * @param start The start of the region (inclusive).
+	 * @param end The end of the region (exclusive).
+	 * @return The position of the separator or -1.
+	 */
+	private int indexOfExtraSeparator (@Nonnull CharSequence sequence, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (VersionScanner.regionMatches (sequence, i, this.extraSeparator, end)) return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Spreads the hash of a (folded) qualifier name across the lower bits used to index the hash table.
+	 * Note: Name hashes cover every (folded) character of the name.
+	 * @param hash The name hash.
+	 * @return The mixed hash.
+	 */
+	private static int mix (int hash) {
+		hash ^= (hash >>> 16);
+		return (hash ^ (hash >>> 7));
+	}
+
+	/**
+	 * Checks whether a region matches a (folded) qualifier name.
+	 * @param name The name.
+	 * @param sequence The sequence.
+	 * @param start The start of the region (inclusive).
+	 * @param end The end of the region (exclusive).
+	 * @return True if the region matches the name.
+	 */
+	private boolean matches (@Nonnull char[] name, @Nonnull CharSequence sequence, int start, int end) {
+		if (name.length != (end - start)) return false;
+
+		if (this.caseSensitive) {
+			for (int i = 0; i < name.length; i++) {
+				if (name[i] != sequence.charAt (start + i)) return false;
+			}
+		} else {
+			for (int i = 0; i < name.length; i++) {
+				if (name[i] != foldAscii (sequence.charAt (start + i))) return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Folds an ASCII character to upper case.
+	 * Note: Hashes are always computed from folded characters so that they are stable for both kinds of grammars.
+	 * @param character The character.
+	 * @return The folded character.
+	 */
+	private static char foldAscii (char character) {
+		return ((character >= 'a' && character <= 'z') ? ((char) (character - ('a' - 'A'))) : character);
+	}
+
+	/**
+	 * Folds a qualifier name.
+	 * @param name The name.
+	 * @return The folded name.
+	 */
+	private String fold (@Nonnull String name) {
+		return (this.caseSensitive ? name : name.toUpperCase (Locale.ROOT));
+	}
+
+	/**
+	 * Returns the extra bit separator.
+	 * @return The separator (X.X.X-EXTRA).
+	 */
+	@Nonnull
+	public String getExtraSeparator () {
+		return this.extraSeparator;
+	}
+
+	/**
+	 * Returns the names of a qualifier kind.
+	 * Note: The first name is used when extra bits are rebuilt (e.g. from packed keys).
+	 * @param qualifier The qualifier kind.
+	 * @return The names (in declaration order).
+	 */
+	@Nonnull
+	public ImmutableList<String> getQualifierNames (@Nonnull VersionQualifier qualifier) {
+		Preconditions.checkNotNull (qualifier, "qualifier");
+
+		ImmutableList<String> names = this.qualifierNames.get (qualifier);
+		return (names == null ? ImmutableList.<String>of () : names);
+	}
+
+	/**
+	 * Returns the version separator.
+	 * @return The separator (X.X.X).
+	 */
+	@Nonnull
+	public String getSeparator () {
+		return this.separator;
+	}
+
+	/**
+	 * Checks whether qualifier names are case sensitive.
+	 * @return True if qualifier names are case sensitive.
+	 */
+	public boolean isCaseSensitive () {
+		return this.caseSensitive;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		return "VersionGrammar{separator=" + this.separator + ", extraSeparator=" + this.extraSeparator + ", caseSensitive=" + this.caseSensitive + ", qualifiers=" + this.qualifierNames + "}";
+	}
+
+	/**
+	 * Builds grammars.
+	 */
+	public static final class Builder {
+
+		/**
+		 * Stores the version separator.
+		 */
+		private String separator = ".";
+
+		/**
+		 * Stores the extra bit separator.
+		 */
+		private String extraSeparator = "-";
+
+		/**
+		 * Indicates whether qualifier names are case sensitive.
+		 */
+		private boolean caseSensitive = false;
+
+		/**
+		 * Stores the qualifier names per kind.
+		 */
+		private final Map<VersionQualifier, ImmutableList<String>> qualifierNames = new EnumMap<VersionQualifier, ImmutableList<String>> (VersionQualifier.class);
+
+		/**
+		 * Constructs a new Builder instance.
+		 */
+		private Builder () { }
+
+		/**
+		 * Sets the version separator.
+		 * @param separator The separator.
+		 * @return The builder.
+		 */
+		@Nonnull
+		public Builder separator (@Nonnull String separator) {
+			this.separator = checkSeparator (separator, "separator");
+			return this;
+		}
+
+		/**
+		 * Sets the extra bit separator.
+		 * @param extraSeparator The separator.
+		 * @return The builder.
+		 */
+		@Nonnull
+		public Builder extraSeparator (@Nonnull String extraSeparator) {
+			this.extraSeparator = checkSeparator (extraSeparator, "extraSeparator");
+			return this;
+		}
+
+		/**
+		 * Sets whether qualifier names are case sensitive.
+		 * @param caseSensitive True if qualifier names shall be case sensitive.
+		 * @return The builder.
+		 */
+		@Nonnull
+		public Builder caseSensitive (boolean caseSensitive) {
+			this.caseSensitive = caseSensitive;
+			return this;
+		}
+
+		/**
+		 * Sets (replaces) the names of a qualifier kind.
+		 * @param qualifier The qualifier kind.
+		 * @param names The names (the first name is used when extra bits are rebuilt).
+		 * @return The builder.
+		 */
+		@Nonnull
+		public Builder qualifier (@Nonnull VersionQualifier qualifier, @Nonnull String... names) {
+			Preconditions.checkNotNull (qualifier, "qualifier");
+			Preconditions.checkArgument (qualifier.isUnstable (), "Stable versions cannot be named");
+
+			ImmutableList<String> list = ImmutableList.copyOf (names);
+
+			for (String name : list) {
+				Preconditions.checkArgument (!name.isEmpty (), "Qualifier names cannot be empty");
+			}
+
+			if (list.isEmpty ())
+				this.qualifierNames.remove (qualifier);
+			else
+				this.qualifierNames.put (qualifier, list);
+
+			return this;
+		}
+
+		/**
+		 * Builds the grammar.
+		 * @return The grammar.
+		 */
+		@Nonnull
+		public VersionGrammar build () {
+			Preconditions.checkArgument (!this.separator.equals (this.extraSeparator), "The separators cannot be equal");
+
+			// check qualifier names against separators
+			for (ImmutableList<String> names : this.qualifierNames.values ()) {
+				for (String name : names) {
+					Preconditions.checkArgument (!name.contains (this.extraSeparator), "Qualifier names cannot contain the extra separator: %s", name);
+				}
+			}
+
+			return new VersionGrammar (this);
+		}
+
+		/**
+		 * Verifies a separator.
+		 * @param separator The separator.
+		 * @param name The parameter name.
+		 * @return The separator.
+		 */
+		private static String checkSeparator (String separator, String name) {
+			Preconditions.checkNotNull (separator, name);
+			Preconditions.checkArgument (!separator.isEmpty (), "The %s cannot be empty", name);
+
+			for (int i = 0; i < separator.length (); i++) {
+				char current = separator.charAt (i);
+				Preconditions.checkArgument (Character.digit (current, 10) == -1 && !VersionScanner.isWhitespace (current), "The %s cannot contain digits or whitespaces", name);
+			}
+
+			return separator;
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts parses, parser failures, comparisons and range checks.
+ * Instrumentation is disabled by default and enabled by starting the JVM with
+ * {@code -Dcom.evilco.version.metrics=true}. Since the flag is a constant, disabled instrumentation costs a single,
+ * statically predictable branch per call site.
+ * Parses are recorded by the scanner shared by all textual parsers (constructors, tryParse, ranges, batches and mapped
+ * readers). Decoding binary versions (see {@link VersionCodec}) does not count as a parse.
+ * Note: Counters are updated independently. Snapshots taken while versions are processed may thus be slightly
+ * inconsistent (e.g. a failure may be counted before its parse).
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionMetrics {
+
+	/**
+	 * Defines the system property which enables instrumentation.
+	 */
+	public static final String PROPERTY = "com.evilco.version.metrics";
+
+	/**
+	 * Indicates whether instrumentation is enabled.
+	 */
+	static final boolean ENABLED = Boolean.getBoolean (PROPERTY);
+
+	/**
+	 * Stores the amount of parsed versions (including rejected versions).
+	 */
+	private static final AtomicLong parseCount = new AtomicLong ();
+
+	/**
+	 * Stores the time spent parsing (in nanoseconds).
+	 */
+	private static final AtomicLong parseTime = new AtomicLong ();
+
+	/**
+	 * Stores the amount of rejected versions (indexed by error ordinal).
+	 */
+	private static final AtomicLongArray failureCount = new AtomicLongArray (VersionParserError.values ().length);
+
+	/**
+	 * Stores the amount of {@link SimpleVersion#newer(SimpleVersion)} calls.
+	 */
+	private static final AtomicLong newerCount = new AtomicLong ();
+
+	/**
+	 * Stores the amount of {@link SimpleVersion#equals(Object)} calls.
+	 */
+	private static final AtomicLong equalsCount = new AtomicLong ();
+
+	/**
+	 * Stores the amount of {@link SimpleVersionRange#isInRange(SimpleVersion)} calls.
+	 */
+	private static final AtomicLong rangeCheckCount = new AtomicLong ();
+
+	/**
+	 * Prevents the construction of VersionMetrics instances.
+	 */
+	private VersionMetrics () { }
+
+	/**
+	 * Checks whether instrumentation is enabled.
+	 * @return True if instrumentation is enabled.
+	 */
+	public static boolean isEnabled () {
+		return ENABLED;
+	}
+
+	/**
+	 * Creates a snapshot of all counters.
+	 * @return The snapshot (all counters are zero if instrumentation is disabled).
+	 */
+	@Nonnull
+	public static Snapshot snapshot () {
+		long[] failures = new long[failureCount.length ()];
+		for (int i = 0; i < failures.length; i++) failures[i] = failureCount.get (i);
+
+		return new Snapshot (parseCount.get (), parseTime.get (), failures, newerCount.get (), equalsCount.get (), rangeCheckCount.get ());
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public static void reset () {
+		parseCount.set (0);
+		parseTime.set (0);
+		for (int i = 0; i < failureCount.length (); i++) failureCount.set (i, 0);
+		newerCount.set (0);
+		equalsCount.set (0);
+		rangeCheckCount.set (0);
+	}
+
+	/**
+	 * Records a parse.
+	 * @param nanos The time spent parsing (in nanoseconds).
+	 * @param error The error (or null if the version was accepted).
+	 */
+	static void recordParse (long nanos, VersionParserError error) {
+		parseCount.incrementAndGet ();
+		parseTime.addAndGet (nanos);
+		if (error != null) failureCount.incrementAndGet (error.ordinal ());
+	}
+
+	/**
+	 * Records a {@link SimpleVersion#newer(SimpleVersion)} call.
+	 */
+	static void recordNewer () {
+		newerCount.incrementAndGet ();
+	}
+
+	/**
+	 * Records a {@link SimpleVersion#equals(Object)} call.
+	 */
+	static void recordEquals () {
+		equalsCount.incrementAndGet ();
+	}
+
+	/**
+	 * Records a {@link SimpleVersionRange#isInRange(SimpleVersion)} call.
+	 */
+	static void recordRangeCheck () {
+		rangeCheckCount.incrementAndGet ();
+	}
+
+	/**
+	 * Stores the state of all counters at a certain point in time.
+	 */
+	public static final class Snapshot {
+
+		/**
+		 * Stores the amount of parsed versions.
+		 */
+		private final long parseCount;
+
+		/**
+		 * Stores the time spent parsing (in nanoseconds).
+		 */
+		private final long parseTime;
+
+		/**
+		 * Stores the amount of rejected versions (indexed by error ordinal).
+		 */
+		private final long[] failureCount;
+
+		/**
+		 * Stores the amount of newer calls.
+		 */
+		private final long newerCount;
+
+		/**
+		 * Stores the amount of equals calls.
+		 */
+		private final long equalsCount;
+
+		/**
+		 * Stores the amount of range checks.
+		 */
+		private final long rangeCheckCount;
+
+		/**
+		 * Constructs a new Snapshot instance.
+		 * @param parseCount The amount of parsed versions.
+		 * @param parseTime The time spent parsing (in nanoseconds).
+		 * @param failureCount The amount of rejected versions (indexed by error ordinal).
+		 * @param newerCount The amount of newer calls.
+		 * @param equalsCount The amount of equals calls.
+		 * @param rangeCheckCount The amount of range checks.
+		 */
+		private Snapshot (long parseCount, long parseTime, long[] failureCount, long newerCount, long equalsCount, long rangeCheckCount) {
+			this.parseCount = parseCount;
+			this.parseTime = parseTime;
+			this.failureCount = failureCount;
+			this.newerCount = newerCount;
+			this.equalsCount = equalsCount;
+			this.rangeCheckCount = rangeCheckCount;
+		}
+
+		/**
+		 * Returns the amount of parsed versions (including rejected versions).
+		 * @return The amount of versions.
+		 */
+		public long getParseCount () {
+			return this.parseCount;
+		}
+
+		/**
+		 * Returns the time spent parsing.
+		 * @param unit The time unit.
+		 * @return The time.
+		 */
+		public long getParseTime (@Nonnull TimeUnit unit) {
+			Preconditions.checkNotNull (unit, "unit");
+			return unit.convert (this.parseTime, TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * Returns the amount of rejected versions.
+		 * @return The amount of versions.
+		 */
+		public long getFailureCount () {
+			long count = 0;
+			for (long failures : this.failureCount) count += failures;
+			return count;
+		}
+
+		/**
+		 * Returns the amount of versions rejected for a certain reason.
+		 * @param error The reason.
+		 * @return The amount of versions.
+		 */
+		public long getFailureCount (@Nonnull VersionParserError error) {
+			Preconditions.checkNotNull (error, "error");
+			return this.failureCount[error.ordinal ()];
+		}
+
+		/**
+		 * Returns the amount of {@link SimpleVersion#newer(SimpleVersion)} calls.
+		 * @return The amount of calls.
+		 */
+		public long getNewerCount () {
+			return this.newerCount;
+		}
+
+		/**
+		 * Returns the amount of {@link SimpleVersion#equals(Object)} calls.
+		 * @return The amount of calls.
+		 */
+		public long getEqualsCount () {
+			return this.equalsCount;
+		}
+
+		/**
+		 * Returns the amount of {@link SimpleVersionRange#isInRange(SimpleVersion)} calls.
+		 * @return The amount of calls.
+		 */
+		public long getRangeCheckCount () {
+			return this.rangeCheckCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString () {
+			StringBuilder builder = new StringBuilder ("VersionMetrics{parses=").append (this.parseCount);
+			builder.append (", parseTimeNanos=").append (this.parseTime);
+
+			for (VersionParserError error : VersionParserError.values ()) {
+				builder.append (", ").append (error.name ()).append ('=').append (this.failureCount[error.ordinal ()]);
+			}
+
+			builder.append (", newer=").append (this.newerCount);
+			builder.append (", equals=").append (this.equalsCount);
+			builder.append (", rangeChecks=").append (this.rangeCheckCount);
+			return builder.append ('}').toString ();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents the outcome of {@link SimpleVersion#tryParse(CharSequence)}.
+ * A result either carries the parsed version or the reason (and position) for rejecting the input. Error messages are
+ * only built upon request.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionParseResult {
+
+	/**
+	 * Stores the version (or null if the input was rejected).
+	 */
+	private final SimpleVersion version;
+
+	/**
+	 * Stores the error (or null if the input was accepted).
+	 */
+	private final VersionParserError error;
+
+	/**
+	 * Stores the position of the error.
+	 */
+	private final int errorPosition;
+
+	/**
+	 * Stores the index of the invalid version bit.
+	 */
+	private final int errorBit;
+
+	/**
+	 * Stores the invalid version bit (or null if the input was accepted or rejected due to whitespaces).
+	 */
+	private final String errorToken;
+
+	/**
+	 * Stores the error message (computed upon first use).
+	 * Note: Racing threads may build the message more than once which is harmless since strings are immutable.
+	 */
+	private String errorMessage;
+
+	/**
+	 * Constructs a new successful VersionParseResult instance.
+	 * @param version The version.
+	 */
+	VersionParseResult (@Nonnull SimpleVersion version) {
+		this.version = version;
+		this.error = null;
+		this.errorPosition = -1;
+		this.errorBit = -1;
+		this.errorToken = null;
+	}
+
+	/**
+	 * Constructs a new failed VersionParseResult instance.
+	 * Note: Only the invalid version bit is copied (instead of the entire input) since the input may be a large or
+	 * mutable sequence.
+	 * @param error The error.
+	 * @param errorPosition The position of the error.
+	 * @param errorBit The index of the invalid version bit.
+	 * @param errorEnd The end of the invalid version bit (exclusive).
+	 * @param source The rejected input.
+	 */
+	VersionParseResult (@Nonnull VersionParserError error, int errorPosition, int errorBit, int errorEnd, @Nonnull CharSequence source) {
+		this.version = null;
+		this.error = error;
+		this.errorPosition = errorPosition;
+		this.errorBit = errorBit;
+		this.errorToken = (error == VersionParserError.WHITESPACE ? null : source.subSequence (errorPosition, errorEnd).toString ());
+	}
+
+	/**
+	 * Checks whether the input was accepted.
+	 * @return True if a version is available.
+	 */
+	public boolean isValid () {
+		return (this.version != null);
+	}
+
+	/**
+	 * Returns the version.
+	 * @return The version or null if the input was rejected.
+	 */
+	@Nullable
+	public SimpleVersion getVersion () {
+		return this.version;
+	}
+
+	/**
+	 * Returns the version.
+	 * @return The version (absent if the input was rejected).
+	 */
+	@Nonnull
+	public Optional<SimpleVersion> asOptional () {
+		return Optional.fromNullable (this.version);
+	}
+
+	/**
+	 * Returns the version or throws the exception the parsing constructors would have thrown.
+	 * @return The version.
+	 * @throws VersionParserException when the input was rejected.
+	 */
+	@Nonnull
+	public SimpleVersion getVersionOrThrow () throws VersionParserException {
+		if (this.version == null) throw new VersionParserException (this.getErrorMessage ());
+		return this.version;
+	}
+
+	/**
+	 * Returns the error.
+	 * @return The error or null if the input was accepted.
+	 */
+	@Nullable
+	public VersionParserError getError () {
+		return this.error;
+	}
+
+	/**
+	 * Returns the position of the error within the input.
+	 * @return The position or -1 if the input was accepted.
+	 */
+	public int getErrorPosition () {
+		return this.errorPosition;
+	}
+
+	/**
+	 * Returns the error message.
+	 * @return The error message or null if the input was accepted.
+	 */
+	@Nullable
+	public String getErrorMessage () {
+		if (this.error == null) return null;
+
+		// build message
+		if (this.errorMessage == null) this.errorMessage = VersionScanner.getErrorMessage (this.error, this.errorToken, this.errorBit, 0, (this.errorToken == null ? 0 : this.errorToken.length ()));
+
+		return this.errorMessage;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		if (this.version != null) return this.version.toString ();
+		return this.error + " at " + this.errorPosition + ": " + this.getErrorMessage ();
+	}
+}
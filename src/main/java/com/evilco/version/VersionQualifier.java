@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+/**
+ * Defines the qualifier kinds a version may carry in its extra bit.
+ * Note: The declaration order reflects the ranking used by version comparisons (alpha < beta < snapshot < release candidate < stable).
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public enum VersionQualifier {
+
+	/**
+	 * Alpha builds (e.g. X.X.X-ALPHA-1).
+	 */
+	ALPHA,
+
+	/**
+	 * Beta builds (e.g. X.X.X-BETA-1).
+	 */
+	BETA,
+
+	/**
+	 * Snapshot builds (e.g. X.X.X-SNAPSHOT).
+	 */
+	SNAPSHOT,
+
+	/**
+	 * Release candidate builds (e.g. X.X.X-RC-1).
+	 */
+	RELEASE_CANDIDATE,
+
+	/**
+	 * Stable builds (no extra bit or an unknown extra bit).
+	 */
+	STABLE;
+
+	/**
+	 * Checks whether the qualifier represents an unstable build.
+	 * @return True if the qualifier is unstable.
+	 */
+	public boolean isUnstable () {
+		return (this != STABLE);
+	}
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Indexes a set of version ranges in order to find all ranges which contain a certain version (stabbing queries).
+ * The index is a centered interval tree which answers queries in O(log n + k) (where k is the amount of matching
+ * ranges). Exclusive bounds are represented as points directly above (floors) or below (ceilings) their version which
+ * turns every range into a closed interval without changing the semantics of {@link SimpleVersionRange#isInRange}.
+ * Note: The index is immutable and may be shared between threads.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionRangeIndex {
+
+	/**
+	 * Stores the indexed ranges.
+	 */
+	private final SimpleVersionRange[] ranges;
+
+	/**
+	 * Stores the floor version of each range.
+	 */
+	private final SimpleVersion[] floors;
+
+	/**
+	 * Stores the floor offset of each range (0 for inclusive floors, 1 for exclusive floors).
+	 */
+	private final byte[] floorOffsets;
+
+	/**
+	 * Stores the ceiling version of each range (null for open ranges).
+	 */
+	private final SimpleVersion[] ceilings;
+
+	/**
+	 * Stores the ceiling offset of each range (0 for inclusive ceilings, -1 for exclusive ceilings).
+	 */
+	private final byte[] ceilingOffsets;
+
+	/**
+	 * Stores the root node (or null if no range can contain any version).
+	 */
+	private final Node root;
+
+	/**
+	 * Constructs a new VersionRangeIndex instance.
+	 * @param ranges The ranges.
+	 */
+	public VersionRangeIndex (@Nonnull Collection<SimpleVersionRange> ranges) {
+		Preconditions.checkNotNull (ranges, "ranges");
+
+		this.ranges = ranges.toArray (new SimpleVersionRange[ranges.size ()]);
+		this.floors = new SimpleVersion[this.ranges.length];
+		this.floorOffsets = new byte[this.ranges.length];
+		this.ceilings = new SimpleVersion[this.ranges.length];
+		this.ceilingOffsets = new byte[this.ranges.length];
+
+		// convert ranges into closed intervals (empty ranges such as [1.0,1.0) are not indexed)
+		List<Integer> indices = new ArrayList<Integer> (this.ranges.length);
+
+		for (int i = 0; i < this.ranges.length; i++) {
+			SimpleVersionRange range = Preconditions.checkNotNull (this.ranges[i], "range");
+
+			this.floors[i] = range.getFloorVersion ();
+			this.floorOffsets[i] = ((byte) (range.isFloorVersionFuzzy () ? 0 : 1));
+			this.ceilings[i] = range.getCeilingVersion ();
+			this.ceilingOffsets[i] = ((byte) (range.isCeilingFuzzy () ? 0 : -1));
+
+			if (compare (this.floors[i], this.floorOffsets[i], this.ceilings[i], this.ceilingOffsets[i]) <= 0) indices.add (i);
+		}
+
+		// sort by floor (each subset of this order stays sorted while the tree is built)
+		Integer[] byFloor = indices.toArray (new Integer[indices.size ()]);
+
+		Arrays.sort (byFloor, new Comparator<Integer> () {
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public int compare (Integer index1, Integer index2) {
+				return VersionRangeIndex.compare (floors[index1], floorOffsets[index1], floors[index2], floorOffsets[index2]);
+			}
+		});
+
+		// rank by ceiling (descending) in order to sort node lists without comparing versions again
+		Integer[] byCeiling = byFloor.clone ();
+
+		Arrays.sort (byCeiling, new Comparator<Integer> () {
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public int compare (Integer index1, Integer index2) {
+				return VersionRangeIndex.compare (ceilings[index2], ceilingOffsets[index2], ceilings[index1], ceilingOffsets[index1]);
+			}
+		});
+
+		int[] ceilingRanks = new int[this.ranges.length];
+		int[] rankedIndices = new int[byCeiling.length];
+
+		for (int i = 0; i < byCeiling.length; i++) {
+			ceilingRanks[byCeiling[i]] = i;
+			rankedIndices[i] = byCeiling[i];
+		}
+
+		// build tree
+		int[] sorted = new int[byFloor.length];
+		for (int i = 0; i < sorted.length; i++) sorted[i] = byFloor[i];
+
+		this.root = this.build (sorted, ceilingRanks, rankedIndices);
+	}
+
+	/**
+	 * Builds a (sub-)tree.
+	 * @param indices The range indices (sorted by floor).
+	 * @param ceilingRanks The ceiling rank of each range.
+	 * @param rankedIndices The range index of each ceiling rank.
+	 * @return The node or null.
+	 */
+	@Nullable
+	private Node build (@Nonnull int[] indices, @Nonnull int[] ceilingRanks, @Nonnull int[] rankedIndices) {
+		if (indices.length == 0) return null;
+
+		// use the median floor as center
+		int median = indices[(indices.length >>> 1)];
+		SimpleVersion centerVersion = this.floors[median];
+		int centerOffset = this.floorOffsets[median];
+
+		// partition ranges (ranges below the center, ranges containing the center and ranges above the center)
+		int[] left = new int[indices.length];
+		int[] center = new int[indices.length];
+		int[] right = new int[indices.length];
+		int leftLength = 0;
+		int centerLength = 0;
+		int rightLength = 0;
+
+		for (int index : indices) {
+			if (compare (this.ceilings[index], this.ceilingOffsets[index], centerVersion, centerOffset) < 0)
+				left[leftLength++] = index;
+			else if (compare (this.floors[index], this.floorOffsets[index], centerVersion, centerOffset) > 0)
+				right[rightLength++] = index;
+			else
+				center[centerLength++] = index;
+		}
+
+		// sort the center ranges by ceiling (descending)
+		int[] byCeiling = new int[centerLength];
+		for (int i = 0; i < centerLength; i++) byCeiling[i] = ceilingRanks[center[i]];
+		Arrays.sort (byCeiling);
+		for (int i = 0; i < centerLength; i++) byCeiling[i] = rankedIndices[byCeiling[i]];
+
+		return new Node (centerVersion, centerOffset, Arrays.copyOf (center, centerLength), byCeiling, this.build (Arrays.copyOf (left, leftLength), ceilingRanks, rankedIndices), this.build (Arrays.copyOf (right, rightLength), ceilingRanks, rankedIndices));
+	}
+
+	/**
+	 * Finds all ranges which contain the specified version.
+	 * @param version The version.
+	 * @return The matching ranges (in no particular order).
+	 */
+	@Nonnull
+	public List<SimpleVersionRange> findContaining (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		List<SimpleVersionRange> result = new ArrayList<SimpleVersionRange> ();
+		Node node = this.root;
+
+		while (node != null) {
+			int comparison = compare (version, 0, node.centerVersion, node.centerOffset);
+
+			if (comparison < 0) {
+				// all ranges of this node end at or after the center (collect all ranges which start before the version)
+				for (int index : node.byFloor) {
+					if (compare (this.floors[index], this.floorOffsets[index], version, 0) > 0) break;
+					result.add (this.ranges[index]);
+				}
+
+				node = node.left;
+			} else if (comparison > 0) {
+				// all ranges of this node start at or before the center (collect all ranges which end after the version)
+				for (int index : node.byCeiling) {
+					if (compare (this.ceilings[index], this.ceilingOffsets[index], version, 0) < 0) break;
+					result.add (this.ranges[index]);
+				}
+
+				node = node.right;
+			} else {
+				// all ranges of this node contain the center (and no other ranges do)
+				for (int index : node.byFloor) result.add (this.ranges[index]);
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the amount of indexed ranges.
+	 * @return The amount of ranges.
+	 */
+	public int size () {
+		return this.ranges.length;
+	}
+
+	/**
+	 * Compares two interval points.
+	 * @param version1 The first version (null represents infinity).
+	 * @param offset1 The first offset.
+	 * @param version2 The second version (null represents infinity).
+	 * @param offset2 The second offset.
+	 * @return A negative value, zero or a positive value if the first point is lower than, equal to or greater than the
+	 * second point.
+	 */
+	private static int compare (@Nullable SimpleVersion version1, int offset1, @Nullable SimpleVersion version2, int offset2) {
+		if (version1 == null || version2 == null) return ((version1 == null ? 1 : 0) - (version2 == null ? 1 : 0));
+
+		int comparison = version1.compareTo (version2);
+		return (comparison != 0 ? comparison : (offset1 - offset2));
+	}
+
+	/**
+	 * Represents a tree node.
+	 */
+	private static final class Node {
+
+		/**
+		 * Stores the center version.
+		 */
+		private final SimpleVersion centerVersion;
+
+		/**
+		 * Stores the center offset.
+		 */
+		private final int centerOffset;
+
+		/**
+		 * Stores the indices of all ranges containing the center (sorted by floor, ascending).
+		 */
+		private final int[] byFloor;
+
+		/**
+		 * Stores the indices of all ranges containing the center (sorted by ceiling, descending).
+		 */
+		private final int[] byCeiling;
+
+		/**
+		 * Stores the node containing all ranges below the center.
+		 */
+		private final Node left;
+
+		/**
+		 * Stores the node containing all ranges above the center.
+		 */
+		private final Node right;
+
+		/**
+		 * Constructs a new Node instance.
+		 * @param centerVersion The center version.
+		 * @param centerOffset The center offset.
+		 * @param byFloor The ranges sorted by floor.
+		 * @param byCeiling The ranges sorted by ceiling.
+		 * @param left The left node.
+		 * @param right The right node.
+		 */
+		private Node (SimpleVersion centerVersion, int centerOffset, int[] byFloor, int[] byCeiling, Node left, Node right) {
+			this.centerVersion = centerVersion;
+			this.centerOffset = centerOffset;
+			this.byFloor = byFloor;
+			this.byCeiling = byCeiling;
+			this.left = left;
+			this.right = right;
+		}
+	}
+}
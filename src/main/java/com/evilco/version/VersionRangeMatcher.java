@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides an immutable, precompiled version of {@link SimpleVersionRange#isInRange(SimpleVersion)}.
+ * The range bounds are converted into inclusive packed keys upon construction which reduces each test to two primitive
+ * comparisons. Versions (or bounds) which cannot be packed fall back to {@link SimpleVersionRange#isInRange(SimpleVersion)}.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionRangeMatcher implements Predicate<SimpleVersion> {
+
+	/**
+	 * Stores the source range.
+	 */
+	private final SimpleVersionRange range;
+
+	/**
+	 * Indicates whether both bounds could be packed.
+	 */
+	private final boolean packed;
+
+	/**
+	 * Stores the inclusive floor key (offset by {@link Long#MIN_VALUE} to allow signed comparisons).
+	 */
+	private final long floorKey;
+
+	/**
+	 * Stores the inclusive ceiling key (offset by {@link Long#MIN_VALUE} to allow signed comparisons).
+	 */
+	private final long ceilKey;
+
+	/**
+	 * Constructs a new VersionRangeMatcher instance.
+	 * @param range The range.
+	 */
+	public VersionRangeMatcher (@Nonnull SimpleVersionRange range) {
+		Preconditions.checkNotNull (range, "range");
+
+		this.range = range;
+
+		// pack bounds
+		long floorKey = range.getFloorVersion ().getPackedKey ();
+		long ceilKey = (range.getCeilingVersion () == null ? PackedVersion.INVALID : range.getCeilingVersion ().getPackedKey ());
+		this.packed = (floorKey != PackedVersion.INVALID && (range.getCeilingVersion () == null || ceilKey != PackedVersion.INVALID));
+
+		if (!this.packed) {
+			this.floorKey = Long.MAX_VALUE;
+			this.ceilKey = Long.MIN_VALUE;
+			return;
+		}
+
+		// convert bounds into inclusive bounds (keys are dense, so > key equals >= key + 1)
+		if (!range.isFloorVersionFuzzy ()) floorKey++;
+		if (range.getCeilingVersion () == null) ceilKey = -1L;
+
+		// exclusive ceilings of zero cannot match anything
+		if (range.getCeilingVersion () != null && !range.isCeilingFuzzy () && ceilKey == 0) {
+			this.floorKey = Long.MAX_VALUE;
+			this.ceilKey = Long.MIN_VALUE;
+			return;
+		}
+
+		if (range.getCeilingVersion () != null && !range.isCeilingFuzzy ()) ceilKey--;
+
+		this.floorKey = (floorKey + Long.MIN_VALUE);
+		this.ceilKey = (ceilKey + Long.MIN_VALUE);
+	}
+
+	/**
+	 * Returns the source range.
+	 * @return The range.
+	 */
+	public SimpleVersionRange getRange () {
+		return this.range;
+	}
+
+	/**
+	 * Checks whether the specified version is in range.
+	 * @param version The version.
+	 * @return True if the version is in range.
+	 */
+	public boolean matches (@Nonnull SimpleVersion version) {
+		long key = version.getPackedKey ();
+		if (!this.packed || key == PackedVersion.INVALID) return this.range.isInRange (version);
+
+		key += Long.MIN_VALUE;
+		return (key >= this.floorKey && key <= this.ceilKey);
+	}
+
+	/**
+	 * Checks whether the specified packed key is in range.
+	 * @param key The packed key.
+	 * @return True if the version represented by the key is in range.
+	 */
+	public boolean matches (long key) {
+		if (!this.packed) return this.range.isInRange (PackedVersion.decode (key));
+
+		key += Long.MIN_VALUE;
+		return (key >= this.floorKey && key <= this.ceilKey);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean apply (SimpleVersion input) {
+		return this.matches (input);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		return this.range.toString ();
+	}
+}
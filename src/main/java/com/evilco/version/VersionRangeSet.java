@@ -0,0 +1,481 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents an immutable set of versions which is described by a minimal list of disjoint, sorted intervals.
+ * Sets are normalized upon construction (overlapping and adjacent intervals such as [1.0,2.0) and [2.0,3.0] are merged)
+ * and support unions, intersections and complements. Membership tests are answered by a binary search.
+ * Note: Unlike version ranges, sets may be unbounded below (e.g. the complement of [1.0,)).
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionRangeSet {
+
+	/**
+	 * Defines the empty set.
+	 */
+	public static final VersionRangeSet EMPTY = new VersionRangeSet (new Bound[0], new Bound[0]);
+
+	/**
+	 * Defines the set of all versions.
+	 */
+	public static final VersionRangeSet ALL = new VersionRangeSet (new Bound[] { Bound.NEGATIVE_INFINITY }, new Bound[] { Bound.POSITIVE_INFINITY });
+
+	/**
+	 * Orders intervals by their lower bound.
+	 */
+	private static final Comparator<Bound[]> LOWER_ORDER = new Comparator<Bound[]> () {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compare (Bound[] interval1, Bound[] interval2) {
+			return interval1[0].compareTo (interval2[0]);
+		}
+	};
+
+	/**
+	 * Stores the lower bound of each interval.
+	 */
+	private final Bound[] lowerBounds;
+
+	/**
+	 * Stores the upper bound of each interval.
+	 */
+	private final Bound[] upperBounds;
+
+	/**
+	 * Constructs a new VersionRangeSet instance.
+	 * @param lowerBounds The lower bounds (normalized).
+	 * @param upperBounds The upper bounds (normalized).
+	 */
+	private VersionRangeSet (@Nonnull Bound[] lowerBounds, @Nonnull Bound[] upperBounds) {
+		this.lowerBounds = lowerBounds;
+		this.upperBounds = upperBounds;
+	}
+
+	/**
+	 * Creates a set from one or more ranges.
+	 * @param ranges The ranges.
+	 * @return The set (union of all ranges).
+	 */
+	@Nonnull
+	public static VersionRangeSet of (@Nonnull SimpleVersionRange... ranges) {
+		return of (Arrays.asList (ranges));
+	}
+
+	/**
+	 * Creates a set from a collection of ranges.
+	 * @param ranges The ranges.
+	 * @return The set (union of all ranges).
+	 */
+	@Nonnull
+	public static VersionRangeSet of (@Nonnull Collection<SimpleVersionRange> ranges) {
+		Preconditions.checkNotNull (ranges, "ranges");
+
+		List<Bound[]> intervals = new ArrayList<Bound[]> (ranges.size ());
+
+		for (SimpleVersionRange range : ranges) {
+			Preconditions.checkNotNull (range, "range");
+
+			Bound lowerBound = new Bound (range.getFloorVersion (), (range.isFloorVersionFuzzy () ? 0 : 1));
+			Bound upperBound = (range.getCeilingVersion () == null ? Bound.POSITIVE_INFINITY : new Bound (range.getCeilingVersion (), (range.isCeilingFuzzy () ? 0 : -1)));
+
+			intervals.add (new Bound[] { lowerBound, upperBound });
+		}
+
+		return normalize (intervals);
+	}
+
+	/**
+	 * Normalizes a list of intervals.
+	 * @param intervals The intervals (in any order, may contain empty intervals).
+	 * @return The set.
+	 */
+	@Nonnull
+	private static VersionRangeSet normalize (@Nonnull List<Bound[]> intervals) {
+		Collections.sort (intervals, LOWER_ORDER);
+
+		List<Bound> lowerBounds = new ArrayList<Bound> (intervals.size ());
+		List<Bound> upperBounds = new ArrayList<Bound> (intervals.size ());
+
+		for (Bound[] interval : intervals) {
+			// skip empty intervals such as [1.0,1.0)
+			if (interval[0].compareTo (interval[1]) > 0) continue;
+
+			// merge overlapping or adjacent intervals
+			int last = (upperBounds.size () - 1);
+
+			if (last >= 0 && upperBounds.get (last).touches (interval[0])) {
+				if (interval[1].compareTo (upperBounds.get (last)) > 0) upperBounds.set (last, interval[1]);
+				continue;
+			}
+
+			lowerBounds.add (interval[0]);
+			upperBounds.add (interval[1]);
+		}
+
+		if (lowerBounds.isEmpty ()) return EMPTY;
+		return new VersionRangeSet (lowerBounds.toArray (new Bound[lowerBounds.size ()]), upperBounds.toArray (new Bound[upperBounds.size ()]));
+	}
+
+	/**
+	 * Returns the complement of this set.
+	 * @return The set of all versions which are not contained in this set.
+	 */
+	@Nonnull
+	public VersionRangeSet complement () {
+		List<Bound[]> intervals = new ArrayList<Bound[]> (this.lowerBounds.length + 1);
+		Bound lowerBound = Bound.NEGATIVE_INFINITY;
+
+		// the gaps between all intervals form the complement
+		for (int i = 0; i < this.lowerBounds.length; i++) {
+			if (this.lowerBounds[i] != Bound.NEGATIVE_INFINITY) intervals.add (new Bound[] { lowerBound, this.lowerBounds[i].toUpperBound () });
+			lowerBound = (this.upperBounds[i] == Bound.POSITIVE_INFINITY ? null : this.upperBounds[i].toLowerBound ());
+		}
+
+		if (lowerBound != null) intervals.add (new Bound[] { lowerBound, Bound.POSITIVE_INFINITY });
+		return normalize (intervals);
+	}
+
+	/**
+	 * Checks whether the specified version is part of this set.
+	 * @param version The version.
+	 * @return True if the version is contained.
+	 */
+	public boolean contains (@Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (version, "version");
+
+		// find the last interval which starts at or below the version
+		int low = 0;
+		int high = (this.lowerBounds.length - 1);
+
+		while (low <= high) {
+			int middle = ((low + high) >>> 1);
+
+			if (this.lowerBounds[middle].compareTo (version) <= 0)
+				low = (middle + 1);
+			else
+				high = (middle - 1);
+		}
+
+		return (high >= 0 && this.upperBounds[high].compareTo (version) >= 0);
+	}
+
+	/**
+	 * Returns the intersection of this set and another set.
+	 * @param set The other set.
+	 * @return The set of all versions contained in both sets.
+	 */
+	@Nonnull
+	public VersionRangeSet intersect (@Nonnull VersionRangeSet set) {
+		Preconditions.checkNotNull (set, "set");
+
+		List<Bound[]> intervals = new ArrayList<Bound[]> ();
+		int i = 0;
+		int j = 0;
+
+		// sweep over both (sorted) interval lists
+		while (i < this.lowerBounds.length && j < set.lowerBounds.length) {
+			Bound lowerBound = max (this.lowerBounds[i], set.lowerBounds[j]);
+			Bound upperBound = min (this.upperBounds[i], set.upperBounds[j]);
+
+			if (lowerBound.compareTo (upperBound) <= 0) intervals.add (new Bound[] { lowerBound, upperBound });
+
+			if (this.upperBounds[i].compareTo (set.upperBounds[j]) < 0)
+				i++;
+			else
+				j++;
+		}
+
+		return normalize (intervals);
+	}
+
+	/**
+	 * Returns the intersection of this set and a range.
+	 * @param range The range.
+	 * @return The set of all versions contained in both.
+	 */
+	@Nonnull
+	public VersionRangeSet intersect (@Nonnull SimpleVersionRange range) {
+		return this.intersect (of (range));
+	}
+
+	/**
+	 * Returns the union of this set and another set.
+	 * @param set The other set.
+	 * @return The set of all versions contained in either set.
+	 */
+	@Nonnull
+	public VersionRangeSet union (@Nonnull VersionRangeSet set) {
+		Preconditions.checkNotNull (set, "set");
+
+		List<Bound[]> intervals = new ArrayList<Bound[]> (this.lowerBounds.length + set.lowerBounds.length);
+		for (int i = 0; i < this.lowerBounds.length; i++) intervals.add (new Bound[] { this.lowerBounds[i], this.upperBounds[i] });
+		for (int i = 0; i < set.lowerBounds.length; i++) intervals.add (new Bound[] { set.lowerBounds[i], set.upperBounds[i] });
+
+		return normalize (intervals);
+	}
+
+	/**
+	 * Returns the union of this set and a range.
+	 * @param range The range.
+	 * @return The set of all versions contained in either.
+	 */
+	@Nonnull
+	public VersionRangeSet union (@Nonnull SimpleVersionRange range) {
+		return this.union (of (range));
+	}
+
+	/**
+	 * Checks whether this set is empty.
+	 * @return True if the set does not contain any version.
+	 */
+	public boolean isEmpty () {
+		return (this.lowerBounds.length == 0);
+	}
+
+	/**
+	 * Checks whether this set is unbounded below (and thus cannot be expressed as a list of version ranges).
+	 * @return True if the set contains all versions below a certain version.
+	 */
+	public boolean isUnboundedBelow () {
+		return (this.lowerBounds.length > 0 && this.lowerBounds[0] == Bound.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * Returns the disjoint intervals of this set as version ranges (sorted in ascending order).
+	 * @return The ranges.
+	 * @throws IllegalStateException when the set is unbounded below.
+	 */
+	@Nonnull
+	public List<SimpleVersionRange> getRanges () {
+		Preconditions.checkState (!this.isUnboundedBelow (), "Sets which are unbounded below cannot be expressed as version ranges");
+
+		ImmutableList.Builder<SimpleVersionRange> ranges = ImmutableList.builder ();
+
+		for (int i = 0; i < this.lowerBounds.length; i++) {
+			Bound upperBound = this.upperBounds[i];
+
+			try {
+				ranges.add (new SimpleVersionRange (this.lowerBounds[i].version, (this.lowerBounds[i].offset == 0), upperBound.version, (upperBound != Bound.POSITIVE_INFINITY && upperBound.offset == 0)));
+			} catch (VersionParserException ex) {
+				throw new IllegalStateException ("Normalized interval is not a valid range", ex);
+			}
+		}
+
+		return ranges.build ();
+	}
+
+	/**
+	 * Returns the amount of disjoint intervals.
+	 * @return The amount of intervals.
+	 */
+	public int size () {
+		return this.lowerBounds.length;
+	}
+
+	/**
+	 * Returns the greater of two bounds.
+	 * @param bound1 The first bound.
+	 * @param bound2 The second bound.
+	 * @return The greater bound.
+	 */
+	private static Bound max (Bound bound1, Bound bound2) {
+		return (bound1.compareTo (bound2) >= 0 ? bound1 : bound2);
+	}
+
+	/**
+	 * Returns the lower of two bounds.
+	 * @param bound1 The first bound.
+	 * @param bound2 The second bound.
+	 * @return The lower bound.
+	 */
+	private static Bound min (Bound bound1, Bound bound2) {
+		return (bound1.compareTo (bound2) <= 0 ? bound1 : bound2);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals (Object obj) {
+		if (!(obj instanceof VersionRangeSet)) return false;
+
+		VersionRangeSet set = ((VersionRangeSet) obj);
+		return (Arrays.equals (this.lowerBounds, set.lowerBounds) && Arrays.equals (this.upperBounds, set.upperBounds));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode () {
+		return ((31 * Arrays.hashCode (this.lowerBounds)) + Arrays.hashCode (this.upperBounds));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString () {
+		StringBuilder builder = new StringBuilder ();
+
+		for (int i = 0; i < this.lowerBounds.length; i++) {
+			if (i > 0) builder.append (SimpleVersionRange.RANGE_SEPARATOR);
+
+			// append lower bound
+			builder.append ((this.lowerBounds[i].offset == 0 ? SimpleVersionRange.FLOOR_SELECTOR_FUZZY : SimpleVersionRange.FLOOR_SELECTOR));
+			if (this.lowerBounds[i].version != null) builder.append (this.lowerBounds[i].version);
+			builder.append (SimpleVersionRange.RANGE_SEPARATOR);
+
+			// append upper bound
+			if (this.upperBounds[i].version != null) builder.append (this.upperBounds[i].version);
+			builder.append ((this.upperBounds[i].offset == 0 ? SimpleVersionRange.CEIL_SELECTOR_FUZZY : SimpleVersionRange.CEIL_SELECTOR));
+		}
+
+		return builder.toString ();
+	}
+
+	/**
+	 * Represents an interval bound.
+	 * Exclusive bounds are represented as points directly above (lower bounds) or below (upper bounds) their version
+	 * which turns all intervals into closed intervals.
+	 */
+	private static final class Bound implements Comparable<Bound> {
+
+		/**
+		 * Defines the lowest possible bound.
+		 */
+		static final Bound NEGATIVE_INFINITY = new Bound (null, -2);
+
+		/**
+		 * Defines the highest possible bound.
+		 */
+		static final Bound POSITIVE_INFINITY = new Bound (null, 2);
+
+		/**
+		 * Stores the version (or null for infinite bounds).
+		 */
+		final SimpleVersion version;
+
+		/**
+		 * Stores the offset (-1 for exclusive upper bounds, 0 for inclusive bounds and 1 for exclusive lower bounds).
+		 */
+		final int offset;
+
+		/**
+		 * Constructs a new Bound instance.
+		 * @param version The version.
+		 * @param offset The offset.
+		 */
+		Bound (@Nullable SimpleVersion version, int offset) {
+			this.version = version;
+			this.offset = offset;
+		}
+
+		/**
+		 * Compares this bound against a version.
+		 * @param version The version.
+		 * @return A negative value, zero or a positive value if this bound is lower than, equal to or greater than the
+		 * version.
+		 */
+		int compareTo (@Nonnull SimpleVersion version) {
+			if (this.version == null) return this.offset;
+
+			int comparison = this.version.compareTo (version);
+			return (comparison != 0 ? comparison : this.offset);
+		}
+
+		/**
+		 * Converts this (finite) lower bound into the upper bound of the preceding gap (e.g. [1.0 into 1.0)).
+		 * @return The bound.
+		 */
+		Bound toUpperBound () {
+			return new Bound (this.version, (this.offset - 1));
+		}
+
+		/**
+		 * Converts this (finite) upper bound into the lower bound of the following gap (e.g. 1.0] into (1.0).
+		 * @return The bound.
+		 */
+		Bound toLowerBound () {
+			return new Bound (this.version, (this.offset + 1));
+		}
+
+		/**
+		 * Checks whether an interval starting at the supplied lower bound overlaps or directly follows an interval
+		 * ending at this (upper) bound.
+		 * @param lowerBound The lower bound.
+		 * @return True if both intervals can be merged.
+		 */
+		boolean touches (@Nonnull Bound lowerBound) {
+			if (this.compareTo (lowerBound) >= 0) return true;
+
+			// no version lies between 1.0) and [1.0 or between 1.0] and (1.0
+			return (this.version != null && lowerBound.version != null && this.version.compareTo (lowerBound.version) == 0 && (lowerBound.offset - this.offset) == 1);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compareTo (@Nonnull Bound bound) {
+			if (this.version == null || bound.version == null) {
+				if (this.version == null && bound.version == null) return Integer.compare (this.offset, bound.offset);
+				if (this.version == null) return this.offset;
+				return -bound.offset;
+			}
+
+			int comparison = this.version.compareTo (bound.version);
+			return (comparison != 0 ? comparison : Integer.compare (this.offset, bound.offset));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals (Object obj) {
+			if (!(obj instanceof Bound)) return false;
+
+			Bound bound = ((Bound) obj);
+			return (this.offset == bound.offset && Objects.equal (this.version, bound.version));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode () {
+			return ((31 * (this.version == null ? 0 : this.version.hashCode ())) + this.offset);
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stores the published versions of a set of artifacts and allows concurrent queries and updates.
+ * Every artifact maps to an immutable {@link VersionArray} of its versions which is replaced (copy-on-write) whenever a
+ * version is published or retracted. Queries read the current array without any locks and answer range queries through a
+ * binary search. Updates of different artifacts do not interfere; concurrent updates of the same artifact are retried
+ * (compare-and-set) until they succeed.
+ * Note: Queries observe the state of an artifact at a single point in time but consecutive queries may observe
+ * different states.
+ * @param <K> The artifact type.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionRegistry<K> {
+
+	/**
+	 * Stores the versions of each artifact.
+	 */
+	private final ConcurrentMap<K, VersionArray> artifacts = new ConcurrentHashMap<K, VersionArray> ();
+
+	/**
+	 * Publishes a version.
+	 * @param artifact The artifact.
+	 * @param version The version.
+	 * @return True if the version has been added (false if an equal version was already published).
+	 */
+	public boolean publish (@Nonnull K artifact, @Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		Preconditions.checkNotNull (version, "version");
+
+		while (true) {
+			VersionArray current = this.artifacts.get (artifact);
+
+			if (current == null) {
+				if (this.artifacts.putIfAbsent (artifact, VersionArray.EMPTY.with (version)) == null) return true;
+				continue;
+			}
+
+			VersionArray updated = current.with (version);
+			if (updated == current) return false;
+			if (this.artifacts.replace (artifact, current, updated)) return true;
+		}
+	}
+
+	/**
+	 * Publishes a set of versions.
+	 * @param artifact The artifact.
+	 * @param versions The versions.
+	 */
+	public void publishAll (@Nonnull K artifact, @Nonnull Collection<? extends SimpleVersion> versions) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		Preconditions.checkNotNull (versions, "versions");
+		if (versions.isEmpty ()) return;
+
+		// sort the new versions only once
+		VersionArray added = VersionArray.of (versions);
+
+		while (true) {
+			VersionArray current = this.artifacts.get (artifact);
+
+			if (current == null) {
+				if (this.artifacts.putIfAbsent (artifact, added) == null) return;
+				continue;
+			}
+
+			VersionArray updated = current.merge (added);
+			if (updated == current || this.artifacts.replace (artifact, current, updated)) return;
+		}
+	}
+
+	/**
+	 * Retracts a version.
+	 * Note: Artifacts remain registered (without versions) once all of their versions have been retracted.
+	 * @param artifact The artifact.
+	 * @param version The version.
+	 * @return True if the version has been removed (false if no equal version was published).
+	 */
+	public boolean retract (@Nonnull K artifact, @Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		Preconditions.checkNotNull (version, "version");
+
+		while (true) {
+			VersionArray current = this.artifacts.get (artifact);
+			if (current == null) return false;
+
+			VersionArray updated = current.without (version);
+			if (updated == current) return false;
+			if (this.artifacts.replace (artifact, current, updated)) return true;
+		}
+	}
+
+	/**
+	 * Removes an artifact along with all of its versions.
+	 * @param artifact The artifact.
+	 * @return True if the artifact was registered.
+	 */
+	public boolean remove (@Nonnull K artifact) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		return (this.artifacts.remove (artifact) != null);
+	}
+
+	/**
+	 * Checks whether a version has been published.
+	 * @param artifact The artifact.
+	 * @param version The version.
+	 * @return True if an equal version has been published.
+	 */
+	public boolean contains (@Nonnull K artifact, @Nonnull SimpleVersion version) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		Preconditions.checkNotNull (version, "version");
+
+		VersionArray versions = this.artifacts.get (artifact);
+		return (versions != null && versions.contains (version));
+	}
+
+	/**
+	 * Returns all published versions of an artifact.
+	 * @param artifact The artifact.
+	 * @return An immutable snapshot of the versions (sorted in ascending order).
+	 */
+	@Nonnull
+	public List<SimpleVersion> getVersions (@Nonnull K artifact) {
+		Preconditions.checkNotNull (artifact, "artifact");
+
+		VersionArray versions = this.artifacts.get (artifact);
+		return (versions == null ? Collections.<SimpleVersion>emptyList () : versions.asList ());
+	}
+
+	/**
+	 * Returns the newest version of an artifact.
+	 * @param artifact The artifact.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @return The version or null if no (stable) version has been published.
+	 */
+	@Nullable
+	public SimpleVersion getLatest (@Nonnull K artifact, boolean stableOnly) {
+		Preconditions.checkNotNull (artifact, "artifact");
+
+		VersionArray versions = this.artifacts.get (artifact);
+		return (versions == null ? null : versions.latest (stableOnly));
+	}
+
+	/**
+	 * Returns the newest version of an artifact which satisfies a range.
+	 * @param artifact The artifact.
+	 * @param range The range.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @return The version or null if no published version satisfies the range.
+	 */
+	@Nullable
+	public SimpleVersion getLatest (@Nonnull K artifact, @Nonnull SimpleVersionRange range, boolean stableOnly) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		Preconditions.checkNotNull (range, "range");
+
+		VersionArray versions = this.artifacts.get (artifact);
+		return (versions == null ? null : versions.latest (range, stableOnly));
+	}
+
+	/**
+	 * Returns all registered artifacts.
+	 * @return An unmodifiable, weakly consistent view of the artifacts.
+	 */
+	@Nonnull
+	public Set<K> getArtifacts () {
+		return Collections.unmodifiableSet (this.artifacts.keySet ());
+	}
+
+	/**
+	 * Returns the amount of registered artifacts.
+	 * @return The amount of artifacts.
+	 */
+	public int size () {
+		return this.artifacts.size ();
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.evilco.version;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolves the newest version which satisfies a range for a large amount of artifacts.
+ * The available versions of each artifact are sorted and deduplicated once (upon construction) which reduces every
+ * query to a binary search for the bounds of its range (see {@link VersionArray}). Stable-only queries step back to the
+ * newest stable version in constant time. Batches of queries are distributed across a fork-join pool.
+ * Note: Resolvers are immutable and may be shared between threads.
+ * @param <K> The artifact type.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+public final class VersionResolver<K> {
+
+	/**
+	 * Defines the amount of queries below which batches are not split any further.
+	 */
+	static final int THRESHOLD = 512;
+
+	/**
+	 * Stores the sorted versions of each artifact.
+	 */
+	private final Map<K, VersionArray> artifacts;
+
+	/**
+	 * Constructs a new VersionResolver instance.
+	 * @param versions The available versions of each artifact.
+	 */
+	public VersionResolver (@Nonnull Map<K, ? extends Collection<? extends SimpleVersion>> versions) {
+		Preconditions.checkNotNull (versions, "versions");
+
+		this.artifacts = new HashMap<K, VersionArray> ((int) Math.ceil (versions.size () / 0.75));
+
+		for (Map.Entry<K, ? extends Collection<? extends SimpleVersion>> entry : versions.entrySet ()) {
+			Preconditions.checkNotNull (entry.getKey (), "artifact");
+			Preconditions.checkNotNull (entry.getValue (), "versions");
+
+			this.artifacts.put (entry.getKey (), VersionArray.of (entry.getValue ()));
+		}
+	}
+
+	/**
+	 * Resolves the newest version of an artifact which satisfies a range.
+	 * @param artifact The artifact.
+	 * @param range The range.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @return The version or null if no available version satisfies the range.
+	 */
+	@Nullable
+	public SimpleVersion resolve (@Nonnull K artifact, @Nonnull SimpleVersionRange range, boolean stableOnly) {
+		Preconditions.checkNotNull (artifact, "artifact");
+		Preconditions.checkNotNull (range, "range");
+
+		VersionArray versions = this.artifacts.get (artifact);
+		if (versions == null) return null;
+
+		return versions.latest (range, stableOnly);
+	}
+
+	/**
+	 * Resolves the newest version of each artifact which satisfies its range using the default pool.
+	 * @param ranges The range of each artifact.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @return The resolved versions (artifacts without a matching version are omitted).
+	 */
+	@Nonnull
+	public Map<K, SimpleVersion> resolve (@Nonnull Map<K, SimpleVersionRange> ranges, boolean stableOnly) {
+		return this.resolve (ranges, stableOnly, ParallelVersions.PoolHolder.POOL);
+	}
+
+	/**
+	 * Resolves the newest version of each artifact which satisfies its range.
+	 * @param ranges The range of each artifact.
+	 * @param stableOnly True if unstable versions shall be ignored.
+	 * @param pool The pool.
+	 * @return The resolved versions (artifacts without a matching version are omitted).
+	 */
+	@Nonnull
+	public Map<K, SimpleVersion> resolve (@Nonnull Map<K, SimpleVersionRange> ranges, boolean stableOnly, @Nonnull ForkJoinPool pool) {
+		Preconditions.checkNotNull (ranges, "ranges");
+		Preconditions.checkNotNull (pool, "pool");
+
+		// collect queries
+		List<K> keys = new ArrayList<K> (ranges.size ());
+		VersionArray[] artifacts = new VersionArray[ranges.size ()];
+		SimpleVersionRange[] queries = new SimpleVersionRange[ranges.size ()];
+
+		for (Map.Entry<K, SimpleVersionRange> entry : ranges.entrySet ()) {
+			Preconditions.checkNotNull (entry.getKey (), "artifact");
+			Preconditions.checkNotNull (entry.getValue (), "range");
+
+			artifacts[keys.size ()] = this.artifacts.get (entry.getKey ());
+			queries[keys.size ()] = entry.getValue ();
+			keys.add (entry.getKey ());
+		}
+
+		// resolve queries
+		SimpleVersion[] results = new SimpleVersion[queries.length];
+		ResolveTask task = new ResolveTask (artifacts, queries, results, stableOnly, 0, queries.length);
+
+		if (queries.length <= THRESHOLD)
+			task.compute ();
+		else
+			pool.invoke (task);
+
+		// build result
+		ImmutableMap.Builder<K, SimpleVersion> builder = ImmutableMap.builder ();
+
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] != null) builder.put (keys.get (i), results[i]);
+		}
+
+		return builder.build ();
+	}
+
+	/**
+	 * Returns the amount of artifacts.
+	 * @return The amount of artifacts.
+	 */
+	public int size () {
+		return this.artifacts.size ();
+	}
+
+	/**
+	 * Resolves a region of a query batch.
+	 */
+	private static final class ResolveTask extends RecursiveAction {
+
+		/**
+		 * Defines the serialization version.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Stores the artifact of each query (or null for unknown artifacts).
+		 */
+		private final VersionArray[] artifacts;
+
+		/**
+		 * Stores the range of each query.
+		 */
+		private final SimpleVersionRange[] ranges;
+
+		/**
+		 * Stores the result of each query.
+		 */
+		private final SimpleVersion[] results;
+
+		/**
+		 * Indicates whether unstable versions are ignored.
+		 */
+		private final boolean stableOnly;
+
+		/**
+		 * Stores the start of the region (inclusive).
+		 */
+		private final int from;
+
+		/**
+		 * Stores the end of the region (exclusive).
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a new ResolveTask instance.
+		 * @param artifacts The artifact of each query.
+		 * @param ranges The range of each query.
+		 * @param results The result of each query.
+		 * @param stableOnly True if unstable versions shall be ignored.
+		 * @param from The start of the region (inclusive).
+		 * @param to The end of the region (exclusive).
+		 */
+		private ResolveTask (VersionArray[] artifacts, SimpleVersionRange[] ranges, SimpleVersion[] results, boolean stableOnly, int from, int to) {
+			this.artifacts = artifacts;
+			this.ranges = ranges;
+			this.results = results;
+			this.stableOnly = stableOnly;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute () {
+			if ((this.to - this.from) <= THRESHOLD) {
+				for (int i = this.from; i < this.to; i++) {
+					if (this.artifacts[i] != null) this.results[i] = this.artifacts[i].latest (this.ranges[i], this.stableOnly);
+				}
+
+				return;
+			}
+
+			// resolve both halves
+			int middle = ((this.from + this.to) >>> 1);
+			invokeAll (new ResolveTask (this.artifacts, this.ranges, this.results, this.stableOnly, this.from, middle), new ResolveTask (this.artifacts, this.ranges, this.results, this.stableOnly, middle, this.to));
+		}
+	}
+}
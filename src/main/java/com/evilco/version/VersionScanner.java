@@ -0,0 +1,431 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import com.google.common.base.CharMatcher;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides a reusable, exception free version scanner.
+ * The scanner processes a region of a character sequence in a single pass and stores the version bits (or the reason for
+ * rejecting the version) in its fields. No objects are allocated unless the extra bit or an error message is requested.
+ * Note: Instances are not thread safe.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+final class VersionScanner {
+
+	/**
+	 * Defines the whitespace error message.
+	 */
+	static final String WHITESPACE_MESSAGE = "Versions are not allowed to contain any whitespace characters.";
+
+	/**
+	 * Stores the major version bit.
+	 */
+	int majorBit;
+
+	/**
+	 * Stores the minor version bit.
+	 */
+	int minorBit;
+
+	/**
+	 * Stores the maintenance version bit.
+	 */
+	int maintenanceBit;
+
+	/**
+	 * Stores the build version bit.
+	 */
+	int buildBit;
+
+	/**
+	 * Stores the start of the extra bit (inclusive) or -1 if the version has no extra bit.
+	 */
+	int extraStart;
+
+	/**
+	 * Stores the end of the extra bit (exclusive).
+	 */
+	int extraEnd;
+
+	/**
+	 * Stores the error (or null if the last version was accepted).
+	 */
+	VersionParserError error;
+
+	/**
+	 * Stores the position of the error.
+	 */
+	int errorPosition;
+
+	/**
+	 * Stores the index of the invalid version bit.
+	 */
+	int errorBit;
+
+	/**
+	 * Stores the end of the invalid version bit (exclusive).
+	 */
+	int errorEnd;
+
+	/**
+	 * Stores the last scanned sequence.
+	 */
+	CharSequence source;
+
+	/**
+	 * Stores the grammar of the last scanned sequence.
+	 */
+	VersionGrammar grammar;
+
+	/**
+	 * Scans a version.
+	 * Note: This is the single entry point of all parsers and thus records parses when instrumentation is enabled (see
+	 * {@link VersionMetrics}).
+	 * @param version The sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 * @param grammar The grammar.
+	 * @return True if the version is valid.
+	 */
+	boolean scan (@Nonnull CharSequence version, int start, int end, @Nonnull VersionGrammar grammar) {
+		if (!VersionMetrics.ENABLED) return this.scanVersion (version, start, end, grammar);
+
+		long startTime = System.nanoTime ();
+		boolean accepted = this.scanVersion (version, start, end, grammar);
+		VersionMetrics.recordParse ((System.nanoTime () - startTime), this.error);
+		return accepted;
+	}
+
+	/**
+	 * Scans a version (without instrumentation).
+	 * @param version The sequence containing the version.
+	 * @param start The start of the version (inclusive).
+	 * @param end The end of the version (exclusive).
+	 * @param grammar The grammar.
+	 * @return True if the version is valid.
+	 */
+	private boolean scanVersion (@Nonnull CharSequence version, int start, int end, @Nonnull VersionGrammar grammar) {
+		String separator = grammar.getSeparator ();
+		String extraSeparator = grammar.getExtraSeparator ();
+		char separatorChar = separator.charAt (0);
+		char extraSeparatorChar = extraSeparator.charAt (0);
+
+		// reset state
+		this.source = version;
+		this.grammar = grammar;
+		this.majorBit = 0;
+		this.minorBit = 0;
+		this.maintenanceBit = 0;
+		this.buildBit = 0;
+		this.extraStart = -1;
+		this.extraEnd = -1;
+		this.error = null;
+
+		// iterate over all elements
+		int currentVersionBit = 0;
+		int position = start;
+
+		while (true) {
+			int bitStart = position;
+			int bitEnd = -1;
+			int bitValue = 0;
+			boolean bitPlain = true;
+
+			int extraPosition = -1;
+			int extraValue = 0;
+			boolean extraPlain = false;
+
+			// scan the current bit (plain bits consist of ASCII digits only and do not overflow)
+			while (position < end) {
+				char current = version.charAt (position);
+
+				// accumulate digits
+				if (current >= '0' && current <= '9') {
+					int digit = (current - '0');
+
+					if (bitValue > ((Integer.MAX_VALUE - digit) / 10))
+						bitPlain = false;
+					else
+						bitValue = ((bitValue * 10) + digit);
+
+					position++;
+					continue;
+				}
+
+				// check for whitespaces
+				if (isWhitespace (current)) return this.reject (VersionParserError.WHITESPACE, position);
+
+				// check for the end of the current bit
+				if (current == separatorChar && regionMatches (version, position, separator, end)) {
+					bitEnd = position;
+					break;
+				}
+
+				// remember the first extra separator (only relevant if this turns out to be the last bit)
+				if (extraPosition == -1 && current == extraSeparatorChar && regionMatches (version, position, extraSeparator, end)) {
+					extraPosition = position;
+					extraValue = bitValue;
+					extraPlain = bitPlain;
+				}
+
+				bitPlain = false;
+				position++;
+			}
+
+			// check for last bit
+			boolean lastBit = (bitEnd == -1);
+
+			if (lastBit) {
+				bitEnd = end;
+
+				if (extraPosition != -1) {
+					// update version bit
+					bitEnd = extraPosition;
+					bitValue = extraValue;
+					bitPlain = extraPlain;
+
+					// skip empty leading elements
+					int extraStart = (extraPosition + extraSeparator.length ());
+					while (regionMatches (version, extraStart, extraSeparator, end)) extraStart += extraSeparator.length ();
+
+					// store extra bit
+					this.extraStart = Math.min (extraStart, end);
+					this.extraEnd = end;
+				}
+			}
+
+			// store bit
+			if (currentVersionBit < 4) {
+				if (!bitPlain || bitEnd == bitStart) {
+					long value = parseInt (version, bitStart, bitEnd);
+
+					// whitespaces take precedence over invalid bits
+					if (value == Long.MIN_VALUE) {
+						for (int i = position; i < end; i++) {
+							if (isWhitespace (version.charAt (i))) return this.reject (VersionParserError.WHITESPACE, i);
+						}
+
+						this.errorBit = currentVersionBit;
+						this.errorEnd = bitEnd;
+						return this.reject (VersionParserError.INVALID_NUMBER, bitStart);
+					}
+
+					bitValue = ((int) value);
+				}
+
+				switch (currentVersionBit) {
+					case 0:
+						this.majorBit = bitValue;
+						break;
+					case 1:
+						this.minorBit = bitValue;
+						break;
+					case 2:
+						this.maintenanceBit = bitValue;
+						break;
+					case 3:
+						this.buildBit = bitValue;
+						break;
+				}
+			}
+
+			// verify state (stop processing if we hit the extra bit to support 1.0-EXTRA, 1.0.0-EXTRA, etc.)
+			if (lastBit) return true;
+
+			// update current position
+			position += separator.length ();
+			currentVersionBit++;
+		}
+	}
+
+	/**
+	 * Returns the extra bit of the last accepted version.
+	 * @return The extra bit or null.
+	 */
+	String getExtra () {
+		if (this.extraStart == -1) return null;
+		return (this.extraStart < this.extraEnd ? this.source.subSequence (this.extraStart, this.extraEnd).toString () : "");
+	}
+
+	/**
+	 * Classifies the extra bit of the last accepted version (without allocating the extra bit).
+	 * @return The qualifier kind.
+	 */
+	VersionQualifier getQualifier () {
+		if (this.extraStart == -1) return VersionQualifier.STABLE;
+		return this.grammar.getQualifier (this.source, this.extraStart, this.extraEnd);
+	}
+
+	/**
+	 * Extracts the unstable version of the last accepted version (without allocating the extra bit).
+	 * @param qualifier The qualifier kind.
+	 * @return The unstable version.
+	 */
+	int getUnstableVersion (VersionQualifier qualifier) {
+		if (this.extraStart == -1) return -1;
+		return this.grammar.getUnstableVersion (this.source, this.extraStart, this.extraEnd, qualifier);
+	}
+
+	/**
+	 * Creates a version from the last accepted version.
+	 * @return The version.
+	 */
+	SimpleVersion createVersion () {
+		VersionQualifier qualifier = this.getQualifier ();
+		return new SimpleVersion (this.majorBit, this.minorBit, this.maintenanceBit, this.buildBit, this.getExtra (), this.grammar, qualifier, this.getUnstableVersion (qualifier));
+	}
+
+	/**
+	 * Creates a failed parse result for the last rejected version.
+	 * @return The result.
+	 */
+	VersionParseResult createFailure () {
+		return new VersionParseResult (this.error, this.errorPosition, this.errorBit, this.errorEnd, this.source);
+	}
+
+	/**
+	 * Returns the error message for the last rejected version.
+	 * @return The error message.
+	 */
+	String getErrorMessage () {
+		return getErrorMessage (this.error, this.source, this.errorBit, this.errorPosition, this.errorEnd);
+	}
+
+	/**
+	 * Builds an error message.
+	 * @param error The error.
+	 * @param source The rejected sequence.
+	 * @param errorBit The index of the invalid version bit.
+	 * @param errorPosition The start of the invalid version bit (inclusive).
+	 * @param errorEnd The end of the invalid version bit (exclusive).
+	 * @return The error message.
+	 */
+	static String getErrorMessage (VersionParserError error, CharSequence source, int errorBit, int errorPosition, int errorEnd) {
+		if (error == VersionParserError.WHITESPACE) return WHITESPACE_MESSAGE;
+		return getInvalidNumberMessage (errorBit) + "For input string: \"" + source.subSequence (errorPosition, errorEnd) + "\"";
+	}
+
+	/**
+	 * Creates an exception for the last rejected version.
+	 * @return The exception.
+	 */
+	VersionParserException createException () {
+		if (this.error == VersionParserError.WHITESPACE) return new VersionParserException (WHITESPACE_MESSAGE);
+
+		// let the JDK describe the number
+		try {
+			Integer.parseInt (this.source.subSequence (this.errorPosition, this.errorEnd).toString ());
+		} catch (NumberFormatException ex) {
+			return new VersionParserException (getInvalidNumberMessage (this.errorBit) + ex.getMessage (), ex);
+		}
+
+		return new VersionParserException (this.getErrorMessage ());
+	}
+
+	/**
+	 * Stores an error.
+	 * @param error The error.
+	 * @param position The error position.
+	 * @return Always false.
+	 */
+	private boolean reject (VersionParserError error, int position) {
+		this.error = error;
+		this.errorPosition = position;
+		return false;
+	}
+
+	/**
+	 * Returns the message prefix for invalid version bits.
+	 * @param currentVersionBit The bit index.
+	 * @return The message prefix.
+	 */
+	private static String getInvalidNumberMessage (int currentVersionBit) {
+		return "Found invalid version number in " + (currentVersionBit == 0 ? "major" : (currentVersionBit == 1 ? "minor" : (currentVersionBit == 2 ? "maintenance" : "build"))) + " version bit: ";
+	}
+
+	/**
+	 * Checks whether a character is a whitespace.
+	 * @param character The character.
+	 * @return True if the character is a whitespace.
+	 */
+	static boolean isWhitespace (char character) {
+		return ((character <= ' ' || character > '~') && CharMatcher.WHITESPACE.matches (character));
+	}
+
+	/**
+	 * Parses a number which is not made up of plain ASCII digits.
+	 * Note: This accepts exactly the same numbers as {@link Integer#parseInt(String)} (signs and non-ASCII digits) but
+	 * reports invalid numbers by returning {@link Long#MIN_VALUE} instead of throwing an exception.
+	 * @param sequence The sequence.
+	 * @param start The start of the number (inclusive).
+	 * @param end The end of the number (exclusive).
+	 * @return The number or {@link Long#MIN_VALUE}.
+	 */
+	static long parseInt (CharSequence sequence, int start, int end) {
+		if (start >= end) return Long.MIN_VALUE;
+
+		// check sign
+		boolean negative = false;
+		int limit = -Integer.MAX_VALUE;
+		char first = sequence.charAt (start);
+
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limit = Integer.MIN_VALUE;
+			}
+
+			if (++start == end) return Long.MIN_VALUE;
+		}
+
+		// accumulate negatively (the negative range is larger)
+		int multiplyLimit = (limit / 10);
+		int result = 0;
+
+		for (int i = start; i < end; i++) {
+			int digit = Character.digit (sequence.charAt (i), 10);
+			if (digit < 0 || result < multiplyLimit) return Long.MIN_VALUE;
+
+			result *= 10;
+			if (result < (limit + digit)) return Long.MIN_VALUE;
+			result -= digit;
+		}
+
+		return (negative ? result : -result);
+	}
+
+	/**
+	 * Checks whether a sequence contains the supplied region at the specified offset.
+	 * @param sequence The sequence.
+	 * @param offset The offset.
+	 * @param region The region.
+	 * @param end The end of the searchable area (exclusive).
+	 * @return True if the region is found at the specified offset.
+	 */
+	static boolean regionMatches (CharSequence sequence, int offset, String region, int end) {
+		if (offset + region.length () > end) return false;
+
+		for (int i = 0; i < region.length (); i++) {
+			if (sequence.charAt (offset + i) != region.charAt (i)) return false;
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.evilco.version;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Provides allocation free helpers for exporting versions and ranges.
+ * @auhtor			Johannes Donath <johannesd@evil-co.com>
+ * @copyright			Copyright (C) 2014 Evil-Co <http://www.evil-co.org>
+ */
+final class VersionWriter {
+
+	/**
+	 * Defines the replacement for characters which cannot be encoded as ASCII.
+	 */
+	static final byte REPLACEMENT = '?';
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private VersionWriter () { }
+
+	/**
+	 * Appends the decimal representation of a number.
+	 * @param appendable The target.
+	 * @param value The number.
+	 * @throws IOException
+	 */
+	static void append (@Nonnull Appendable appendable, int value) throws IOException {
+		if (value < 0) {
+			appendable.append ('-');
+
+			// the lowest value has no positive counterpart
+			if (value == Integer.MIN_VALUE) {
+				appendable.append ("2147483648");
+				return;
+			}
+
+			value = -value;
+		}
+
+		int divisor = 1;
+		while ((value / divisor) >= 10) divisor *= 10;
+
+		for (; divisor > 0; divisor /= 10) appendable.append ((char) ('0' + ((value / divisor) % 10)));
+	}
+
+	/**
+	 * Writes the decimal representation of a number as ASCII.
+	 * @param buffer The target.
+	 * @param value The number.
+	 * @throws BufferOverflowException when the buffer is too small.
+	 */
+	static void put (@Nonnull ByteBuffer buffer, int value) {
+		if (value < 0) {
+			buffer.put ((byte) '-');
+
+			// the lowest value has no positive counterpart
+			if (value == Integer.MIN_VALUE) {
+				put (buffer, "2147483648");
+				return;
+			}
+
+			value = -value;
+		}
+
+		int divisor = 1;
+		while ((value / divisor) >= 10) divisor *= 10;
+
+		for (; divisor > 0; divisor /= 10) buffer.put ((byte) ('0' + ((value / divisor) % 10)));
+	}
+
+	/**
+	 * Writes a sequence as ASCII (other characters are replaced with {@link #REPLACEMENT}).
+	 * @param buffer The target.
+	 * @param sequence The sequence.
+	 * @throws BufferOverflowException when the buffer is too small.
+	 */
+	static void put (@Nonnull ByteBuffer buffer, @Nonnull CharSequence sequence) {
+		for (int i = 0; i < sequence.length (); i++) {
+			char current = sequence.charAt (i);
+			buffer.put ((current <= 0x7F ? ((byte) current) : REPLACEMENT));
+		}
+	}
+}
@@ -0,0 +1,96 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionAggregator;
+import com.evilco.version.VersionParserException;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class AggregatorTest {
+
+	/**
+	 * Defines the extra bits used by the random versions.
+	 */
+	private static final String[] EXTRA_BITS = { null, null, "SNAPSHOT", "RC-1", "RC-2", "BETA-1", "ALPHA" };
+
+	/**
+	 * Tests the qualifier ordering.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void ordering () throws VersionParserException {
+		VersionAggregator aggregator = new VersionAggregator (3);
+		aggregator.addAll (ImmutableList.of (new SimpleVersion ("2.0-ALPHA"), new SimpleVersion ("1.0"), new SimpleVersion ("2.0-RC-1"), new SimpleVersion ("2.0-SNAPSHOT"), new SimpleVersion ("2.0-BETA"), new SimpleVersion ("2.0-RC-1")));
+
+		Assert.assertEquals (6, aggregator.getCount ());
+		Assert.assertEquals (new SimpleVersion ("2.0-RC-1"), aggregator.getMax ());
+		Assert.assertEquals (new SimpleVersion ("1.0"), aggregator.getLatestStable ());
+		Assert.assertEquals (ImmutableList.of (new SimpleVersion ("2.0-RC-1"), new SimpleVersion ("2.0-SNAPSHOT"), new SimpleVersion ("2.0-BETA")), aggregator.getNewest ());
+
+		// empty aggregators
+		VersionAggregator empty = new VersionAggregator ();
+		Assert.assertNull (empty.getMax ());
+		Assert.assertNull (empty.getLatestStable ());
+		Assert.assertTrue (empty.getNewest ().isEmpty ());
+	}
+
+	/**
+	 * Tests random streams and merging partitions.
+	 */
+	@Test
+	public void merge () {
+		Random random = new Random (42);
+		List<SimpleVersion> stream = new ArrayList<SimpleVersion> ();
+		for (int i = 0; i < 10000; i++) stream.add (new SimpleVersion (random.nextInt (5), random.nextInt (10), random.nextInt (10), 0, EXTRA_BITS[random.nextInt (EXTRA_BITS.length)]));
+
+		// compute expected values
+		TreeSet<SimpleVersion> distinct = new TreeSet<SimpleVersion> (stream);
+		List<SimpleVersion> newest = new ArrayList<SimpleVersion> (distinct.descendingSet ()).subList (0, 16);
+		SimpleVersion latestStable = null;
+
+		for (SimpleVersion version : stream) {
+			if (!version.isUnstableBuild () && (latestStable == null || version.newer (latestStable))) latestStable = version;
+		}
+
+		// aggregate the whole stream
+		VersionAggregator single = new VersionAggregator (16).addAll (stream);
+		Assert.assertEquals (Collections.max (stream), single.getMax ());
+		Assert.assertSame (latestStable, single.getLatestStable ());
+		Assert.assertEquals (newest, single.getNewest ());
+
+		// aggregate partitions
+		VersionAggregator merged = new VersionAggregator (16);
+
+		for (int i = 0; i < stream.size (); i += 1000) {
+			merged.merge (new VersionAggregator (16).addAll (stream.subList (i, (i + 1000))));
+		}
+
+		Assert.assertEquals (stream.size (), merged.getCount ());
+		Assert.assertSame (single.getMax (), merged.getMax ());
+		Assert.assertSame (single.getLatestStable (), merged.getLatestStable ());
+		Assert.assertEquals (single.getNewest (), merged.getNewest ());
+	}
+}
@@ -0,0 +1,124 @@
+import com.evilco.version.PackedVersion;
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionBatch;
+import com.evilco.version.VersionParserError;
+import com.evilco.version.VersionParserException;
+import com.google.common.base.Charsets;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class BatchTest {
+
+	/**
+	 * Provides a temporary folder.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder ();
+
+	/**
+	 * Tests parsing of version arrays.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void array () throws VersionParserException {
+		VersionBatch batch = VersionBatch.parse (new CharSequence[] { "1.0.0", "1.0 .0", "1.0-SNAPSHOT", "1.X", new StringBuilder ("2.0.0-RC-1") });
+
+		// verify versions
+		Assert.assertEquals (5, batch.size ());
+		Assert.assertEquals (new SimpleVersion ("1.0.0"), batch.get (0));
+		Assert.assertNull (batch.get (1));
+		Assert.assertEquals (new SimpleVersion ("1.0-SNAPSHOT"), batch.get (2));
+		Assert.assertNull (batch.get (3));
+		Assert.assertEquals (new SimpleVersion ("2.0.0-RC-1"), batch.get (4));
+
+		// verify failures
+		Assert.assertTrue (batch.hasFailures ());
+		Assert.assertEquals (2, batch.getFailures ().size ());
+
+		Assert.assertEquals (1, batch.getFailures ().get (0).getIndex ());
+		Assert.assertEquals (VersionParserError.WHITESPACE, batch.getFailures ().get (0).getError ());
+		Assert.assertEquals ("Versions are not allowed to contain any whitespace characters.", batch.getFailures ().get (0).getMessage ());
+
+		Assert.assertEquals (3, batch.getFailures ().get (1).getIndex ());
+		Assert.assertEquals (VersionParserError.INVALID_NUMBER, batch.getFailures ().get (1).getError ());
+		Assert.assertEquals ("Found invalid version number in minor version bit: For input string: \"X\"", batch.getFailures ().get (1).getMessage ());
+
+		// verify keys
+		long[] keys = batch.toPackedKeys ();
+
+		Assert.assertEquals (5, keys.length);
+		Assert.assertEquals (new SimpleVersion ("1.0.0"), PackedVersion.decode (keys[0]));
+		Assert.assertEquals (PackedVersion.INVALID, keys[1]);
+		Assert.assertEquals (PackedVersion.INVALID, keys[3]);
+	}
+
+	/**
+	 * Tests parsing of readers.
+	 * @throws IOException
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void reader () throws IOException, VersionParserException {
+		// build a document which exceeds the read buffer
+		StringBuilder document = new StringBuilder ();
+		for (int i = 0; i < 5000; i++) document.append ("1.").append (i).append (i % 2 == 0 ? "\r\n" : "\n");
+		document.append ("1.0-");
+
+		VersionBatch batch = VersionBatch.parse (new StringReader (document.toString ()));
+
+		// verify
+		Assert.assertEquals (5001, batch.size ());
+		Assert.assertFalse (batch.hasFailures ());
+		Assert.assertEquals (new SimpleVersion ("1.4999"), batch.get (4999));
+		Assert.assertEquals ("", batch.get (5000).getExtra ());
+
+		// trailing line breaks do not produce an empty entry while empty lines do
+		batch = VersionBatch.parse (new StringReader ("1.0\n\n2.0\n"));
+
+		Assert.assertEquals (3, batch.size ());
+		Assert.assertEquals (1, batch.getFailures ().size ());
+		Assert.assertEquals (1, batch.getFailures ().get (0).getIndex ());
+	}
+
+	/**
+	 * Tests parsing of files.
+	 * @throws IOException
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void path () throws IOException, VersionParserException {
+		File file = this.folder.newFile ("versions.txt");
+		Files.write (file.toPath (), "1.0.0-ALPHA-2\n1.0.0.1\n".getBytes (Charsets.UTF_8));
+
+		VersionBatch batch = VersionBatch.parse (file.toPath ());
+
+		// verify
+		Assert.assertEquals (2, batch.size ());
+		Assert.assertArrayEquals (new SimpleVersion[] { new SimpleVersion ("1.0.0-ALPHA-2"), new SimpleVersion ("1.0.0.1") }, batch.toArray ());
+	}
+}
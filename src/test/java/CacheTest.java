@@ -0,0 +1,71 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionCache;
+import com.evilco.version.VersionParserException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class CacheTest {
+
+	/**
+	 * Tests whether repeated lookups return canonical instances.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void canonical () throws VersionParserException {
+		// create cache
+		VersionCache cache = new VersionCache (2);
+
+		// lookup
+		SimpleVersion version1 = cache.get ("1.0.0-SNAPSHOT");
+		SimpleVersion version2 = cache.get (new StringBuilder ("1.0.0-SNAPSHOT"));
+
+		// verify
+		Assert.assertSame (version1, version2);
+		Assert.assertEquals (1, cache.getHitCount ());
+		Assert.assertEquals (1, cache.getMissCount ());
+
+		// check eviction
+		cache.get ("2.0.0");
+		cache.get ("3.0.0");
+
+		Assert.assertEquals (2, cache.size ());
+		Assert.assertEquals (1, cache.getEvictionCount ());
+	}
+
+	/**
+	 * Tests the static factory method.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void valueOf () throws VersionParserException {
+		Assert.assertSame (SimpleVersion.valueOf ("1.2.3-RC-1"), SimpleVersion.valueOf ("1.2.3-RC-1"));
+		Assert.assertEquals (new SimpleVersion (1, 2, 3, 0, "RC-1"), SimpleVersion.valueOf ("1.2.3-RC-1"));
+	}
+
+	/**
+	 * Tests the cache error handling.
+	 * @throws VersionParserException
+	 */
+	@Test (expected = VersionParserException.class)
+	public void parserError () throws VersionParserException {
+		new VersionCache ().get ("A.B.C");
+	}
+}
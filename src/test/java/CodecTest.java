@@ -0,0 +1,198 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionCodec;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionQualifier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class CodecTest {
+
+	/**
+	 * Defines a set of test versions.
+	 */
+	private static final SimpleVersion[] VERSIONS = new SimpleVersion[] {
+		new SimpleVersion (1, 0, 0, 0, null),
+		new SimpleVersion (1, 2, 3, 4, "SNAPSHOT"),
+		new SimpleVersion (1, 2, 3, 4, "rc-12"),
+		new SimpleVersion (-1, Integer.MAX_VALUE, Integer.MIN_VALUE, 65535, "BETA"),
+		new SimpleVersion (2, 0, 0, 0, "TEST"),
+		new SimpleVersion (2, 0, 0, 0, "ÜBER-😀"),
+		new SimpleVersion (2, 0, 0, 0, "")
+	};
+
+	/**
+	 * Tests buffer round trips.
+	 */
+	@Test
+	public void buffer () {
+		ByteBuffer buffer = ByteBuffer.allocate (256);
+
+		for (SimpleVersion version : VERSIONS) {
+			int position = buffer.position ();
+			VersionCodec.write (version, buffer);
+			Assert.assertEquals (VersionCodec.getEncodedLength (version), (buffer.position () - position));
+		}
+
+		buffer.flip ();
+
+		for (SimpleVersion version : VERSIONS) {
+			SimpleVersion decoded = VersionCodec.readVersion (buffer);
+
+			Assert.assertEquals (version, decoded);
+			Assert.assertEquals (version.hashCode (), decoded.hashCode ());
+			Assert.assertEquals (version.getExtra (), decoded.getExtra ());
+			Assert.assertEquals (version.getUnstableVersion (), decoded.getUnstableVersion ());
+			Assert.assertEquals (version.toString (), decoded.toString ());
+		}
+
+		Assert.assertFalse (buffer.hasRemaining ());
+
+		// direct buffers
+		ByteBuffer direct = ByteBuffer.allocateDirect (32);
+		VersionCodec.write (VERSIONS[2], direct).flip ();
+		Assert.assertEquals (VersionQualifier.RELEASE_CANDIDATE, VersionCodec.readVersion (direct).getQualifier ());
+	}
+
+	/**
+	 * Tests the encoded size.
+	 */
+	@Test
+	public void size () {
+		Assert.assertEquals (5, VersionCodec.getEncodedLength (new SimpleVersion (1, 0, 0, 0, null)));
+		Assert.assertEquals (11, VersionCodec.getEncodedLength (new SimpleVersion (1, 2, 3, 4, "RC-1")));
+	}
+
+	/**
+	 * Tests stream round trips.
+	 * @throws IOException
+	 */
+	@Test
+	public void stream () throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream ();
+		DataOutputStream output = new DataOutputStream (bytes);
+
+		for (SimpleVersion version : VERSIONS) VersionCodec.write (version, output);
+		output.flush ();
+
+		// verify format
+		ByteBuffer buffer = ByteBuffer.allocate (256);
+		for (SimpleVersion version : VERSIONS) VersionCodec.write (version, buffer);
+		Assert.assertArrayEquals (bytes.toByteArray (), Arrays.copyOf (buffer.array (), buffer.position ()));
+
+		// decode
+		DataInputStream input = new DataInputStream (new ByteArrayInputStream (bytes.toByteArray ()));
+		for (SimpleVersion version : VERSIONS) Assert.assertEquals (version.toString (), VersionCodec.readVersion (input).toString ());
+
+		try {
+			VersionCodec.readVersion (input);
+			Assert.fail ();
+		} catch (EOFException ignore) { }
+	}
+
+	/**
+	 * Tests range round trips.
+	 * @throws IOException
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void range () throws IOException, VersionParserException {
+		SimpleVersionRange[] ranges = new SimpleVersionRange[] {
+			new SimpleVersionRange ("[1.0,2.0)"),
+			new SimpleVersionRange ("(1.0-SNAPSHOT,2.0-RC-1]"),
+			new SimpleVersionRange ("1.5"),
+			new SimpleVersionRange (new SimpleVersion (3), false, null, false)
+		};
+
+		ByteBuffer buffer = ByteBuffer.allocate (256);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream ();
+		DataOutputStream output = new DataOutputStream (bytes);
+
+		for (SimpleVersionRange range : ranges) {
+			VersionCodec.write (range, buffer);
+			VersionCodec.write (range, output);
+		}
+
+		buffer.flip ();
+		DataInputStream input = new DataInputStream (new ByteArrayInputStream (bytes.toByteArray ()));
+
+		for (SimpleVersionRange range : ranges) {
+			SimpleVersionRange decoded = VersionCodec.readRange (buffer);
+
+			Assert.assertEquals (range, decoded);
+			Assert.assertEquals (range.isFloorVersionFuzzy (), decoded.isFloorVersionFuzzy ());
+			Assert.assertEquals (range.isCeilingFuzzy (), decoded.isCeilingFuzzy ());
+			Assert.assertEquals (range.toString (), decoded.toString ());
+			Assert.assertEquals (range, VersionCodec.readRange (input));
+		}
+	}
+
+	/**
+	 * Tests error handling.
+	 */
+	@Test
+	public void errors () {
+		// overflow
+		ByteBuffer buffer = ByteBuffer.allocate (4);
+
+		try {
+			VersionCodec.write (VERSIONS[2], buffer);
+			Assert.fail ();
+		} catch (BufferOverflowException ignore) { }
+
+		Assert.assertEquals (0, buffer.position ());
+
+		// truncated input
+		try {
+			VersionCodec.readVersion (ByteBuffer.wrap (new byte[] { 0x04, 0x02 }));
+			Assert.fail ();
+		} catch (BufferUnderflowException ignore) { }
+
+		// invalid header
+		try {
+			VersionCodec.readVersion (ByteBuffer.wrap (new byte[] { 0x07, 0x02, 0x00, 0x00, 0x00 }));
+			Assert.fail ();
+		} catch (IllegalArgumentException ignore) { }
+
+		// malformed varint
+		try {
+			VersionCodec.readVersion (ByteBuffer.wrap (new byte[] { 0x04, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x00 }));
+			Assert.fail ();
+		} catch (IllegalArgumentException ignore) { }
+
+		// inverted range
+		try {
+			VersionCodec.readRange (ByteBuffer.wrap (new byte[] { 0x07, 0x04, 0x04, 0x00, 0x00, 0x00, 0x04, 0x02, 0x00, 0x00, 0x00 }));
+			Assert.fail ();
+		} catch (IllegalArgumentException ignore) { }
+	}
+}
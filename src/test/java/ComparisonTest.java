@@ -4,6 +4,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 /*
  * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
  *
@@ -65,6 +71,11 @@ public class ComparisonTest {
 		Assert.assertTrue (version6.newer (version5));
 
 		Assert.assertFalse (version1.newer (version1));
+
+		// verify that lower bits are only compared when all higher bits match
+		Assert.assertFalse (new SimpleVersion (1, 5, 0, 0, null).newer (new SimpleVersion (2, 0, 0, 0, null)));
+		Assert.assertFalse (new SimpleVersion (2, 0, 0, 0, null).newer (new SimpleVersion (2, 1, 0, 0, "SNAPSHOT")));
+		Assert.assertFalse (new SimpleVersion (1, 0, 0, 0, "ALPHA-5").newer (new SimpleVersion (1, 0, 0, 0, "BETA-1")));
 	}
 
 	/**
@@ -96,4 +107,48 @@ public class ComparisonTest {
 
 		Assert.assertFalse (version1.older (version1));
 	}
+
+	/**
+	 * Tests whether versions are ordered properly.
+	 */
+	@Test
+	public void compareTo () {
+		// create versions (in ascending order)
+		SimpleVersion[] versions = new SimpleVersion[] {
+			new SimpleVersion (1, 0, 0, 0, "ALPHA-1"),
+			new SimpleVersion (1, 0, 0, 0, "ALPHA-2"),
+			new SimpleVersion (1, 0, 0, 0, "BETA-1"),
+			new SimpleVersion (1, 0, 0, 0, "SNAPSHOT"),
+			new SimpleVersion (1, 0, 0, 0, "RC-1"),
+			new SimpleVersion (1, 0, 0, 0, "RC-2"),
+			new SimpleVersion (1, 0, 0, 0, null),
+			new SimpleVersion (1, 0, 0, 1, null),
+			new SimpleVersion (1, 0, 1, 0, null),
+			new SimpleVersion (1, 1, 0, 0, null),
+			new SimpleVersion (2, 0, 0, 0, "RC-1"),
+			new SimpleVersion (2, 0, 0, 0, null)
+		};
+
+		// compare
+		for (int i = 0; i < versions.length; i++) {
+			for (int j = 0; j < versions.length; j++) {
+				Assert.assertEquals (Integer.signum (Integer.compare (i, j)), Integer.signum (versions[i].compareTo (versions[j])));
+
+				// verify consistency with newer (where it is well defined)
+				if (versions[i].newer (versions[j]) && !versions[j].newer (versions[i])) Assert.assertTrue (versions[i].compareTo (versions[j]) > 0);
+			}
+		}
+
+		// verify consistency with equals
+		Assert.assertEquals (0, new SimpleVersion (1, 0, 0, 0, "SNAPSHOT").compareTo (new SimpleVersion (1, 0, 0, 0, "SNAPSHOT-2")));
+		Assert.assertEquals (0, new SimpleVersion (1, 0, 0, 0, null).compareTo (new SimpleVersion (1, 0, 0, 0, "TEST")));
+
+		// verify sorting
+		List<SimpleVersion> shuffled = new ArrayList<> (Arrays.asList (versions));
+		Collections.shuffle (shuffled, new Random (42));
+		Collections.sort (shuffled);
+
+		Assert.assertEquals (Arrays.asList (versions), shuffled);
+		Assert.assertEquals (4, Arrays.binarySearch (versions, new SimpleVersion (1, 0, 0, 0, "RC-1")));
+	}
 }
\ No newline at end of file
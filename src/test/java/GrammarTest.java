@@ -0,0 +1,160 @@
+import com.evilco.version.PackedVersion;
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionGrammar;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionQualifier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class GrammarTest {
+
+	/**
+	 * Defines a custom grammar.
+	 */
+	private static final VersionGrammar CUSTOM = VersionGrammar.builder ()
+		.separator ("_")
+		.extraSeparator ("~")
+		.caseSensitive (true)
+		.qualifier (VersionQualifier.BETA, "beta")
+		.qualifier (VersionQualifier.RELEASE_CANDIDATE, "cr", "rc")
+		.qualifier (VersionQualifier.SNAPSHOT, "dev")
+		.build ();
+
+	/**
+	 * Tests the default grammar.
+	 */
+	@Test
+	public void defaultGrammar () {
+		Assert.assertEquals (SimpleVersion.VERSION_SEPARATOR, VersionGrammar.DEFAULT.getSeparator ());
+		Assert.assertEquals (SimpleVersion.VERSION_EXTRA_SEPARATOR, VersionGrammar.DEFAULT.getExtraSeparator ());
+		Assert.assertEquals (SimpleVersion.VERSION_EXTRA_ALPHA, VersionGrammar.DEFAULT.getQualifierNames (VersionQualifier.ALPHA));
+		Assert.assertEquals (VersionQualifier.RELEASE_CANDIDATE, VersionGrammar.DEFAULT.getQualifier ("rc-2"));
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier ("FINAL"));
+		Assert.assertSame (VersionGrammar.DEFAULT, new SimpleVersion (1, 0).getGrammar ());
+	}
+
+	/**
+	 * Tests parsing and exporting with a custom grammar.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void custom () throws VersionParserException {
+		SimpleVersion version = CUSTOM.parse ("1_2_3~cr~4");
+
+		// verify
+		Assert.assertEquals (new SimpleVersion (1, 2, 3, 0, "RC-4"), version);
+		Assert.assertTrue (version.isReleaseCandidateBuild ());
+		Assert.assertEquals (4, version.getUnstableVersion ());
+		Assert.assertEquals ("1_2_3~cr~4", version.toString ());
+		Assert.assertSame (CUSTOM, version.getGrammar ());
+
+		// names are case sensitive and unknown qualifiers are stable
+		Assert.assertFalse (CUSTOM.parse ("1_0~DEV").isUnstableBuild ());
+		Assert.assertFalse (CUSTOM.parse ("1_0~alpha").isUnstableBuild ());
+		Assert.assertTrue (CUSTOM.parse ("1_0~dev").isSnapshotBuild ());
+
+		// the default grammar is unaffected
+		Assert.assertEquals ("1.0.0-cr-4", new SimpleVersion ("1.0.0-cr-4").toString ());
+		Assert.assertFalse (new SimpleVersion ("1.0.0-cr-4").isUnstableBuild ());
+
+		// ranges and packed keys
+		SimpleVersionRange range = CUSTOM.parseRange ("[1_0~beta~1,2_0)");
+
+		Assert.assertTrue (range.isInRange (CUSTOM.parse ("1_0")));
+		Assert.assertEquals ("1_2_3~cr~4", PackedVersion.decode (PackedVersion.encode (version), CUSTOM).toString ());
+	}
+
+	/**
+	 * Tests the qualifier lookup table.
+	 */
+	@Test
+	public void qualifierLookup () {
+		String version = "1.0.0-rc-2";
+
+		// regions
+		Assert.assertEquals (VersionQualifier.RELEASE_CANDIDATE, VersionGrammar.DEFAULT.getQualifier (version, 6, version.length ()));
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier (version, 7, version.length ()));
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier (version, 6, 6));
+
+		// case folding
+		Assert.assertEquals (VersionQualifier.SNAPSHOT, VersionGrammar.DEFAULT.getQualifier ("sNaPsHoT"));
+		Assert.assertEquals (VersionQualifier.ALPHA, VersionGrammar.DEFAULT.getQualifier ("a-1"));
+		Assert.assertEquals (VersionQualifier.BETA, VersionGrammar.DEFAULT.getQualifier ("B"));
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier ("ALPHAS"));
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier ("-RC"));
+
+		// non-ASCII characters are folded like String#toUpperCase
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier ("b\u00e9ta"));
+		Assert.assertEquals (VersionQualifier.SNAPSHOT, VersionGrammar.builder ().qualifier (VersionQualifier.SNAPSHOT, "STRASSE").build ().getQualifier ("stra\u00dfe"));
+	}
+
+	/**
+	 * Tests aliases which share their length and first and last characters.
+	 */
+	@Test
+	public void collidingAliases () {
+		VersionGrammar grammar = VersionGrammar.builder ()
+			.qualifier (VersionQualifier.ALPHA, "ALPHA", "AHA", "AXA")
+			.qualifier (VersionQualifier.BETA, "BETA", "BA", "BXXA")
+			.qualifier (VersionQualifier.RELEASE_CANDIDATE, "APHHA", "BTEA")
+			.build ();
+
+		// verify
+		Assert.assertEquals (VersionQualifier.ALPHA, grammar.getQualifier ("alpha-1"));
+		Assert.assertEquals (VersionQualifier.ALPHA, grammar.getQualifier ("AHA"));
+		Assert.assertEquals (VersionQualifier.ALPHA, grammar.getQualifier ("axa"));
+		Assert.assertEquals (VersionQualifier.BETA, grammar.getQualifier ("BETA-2"));
+		Assert.assertEquals (VersionQualifier.BETA, grammar.getQualifier ("Ba"));
+		Assert.assertEquals (VersionQualifier.BETA, grammar.getQualifier ("BXXA"));
+		Assert.assertEquals (VersionQualifier.RELEASE_CANDIDATE, grammar.getQualifier ("APHHA-3"));
+		Assert.assertEquals (VersionQualifier.RELEASE_CANDIDATE, grammar.getQualifier ("btea"));
+		Assert.assertEquals (VersionQualifier.STABLE, grammar.getQualifier ("ABA"));
+		Assert.assertEquals (VersionQualifier.STABLE, grammar.getQualifier ("BEEA"));
+	}
+
+	/**
+	 * Tests the builder verification.
+	 */
+	@Test
+	public void builderErrors () {
+		try {
+			VersionGrammar.builder ().separator ("-").build ();
+			Assert.fail ();
+		} catch (IllegalArgumentException ignore) { }
+
+		try {
+			VersionGrammar.builder ().qualifier (VersionQualifier.ALPHA, "A").qualifier (VersionQualifier.BETA, "a").build ();
+			Assert.fail ();
+		} catch (IllegalArgumentException ignore) { }
+
+		try {
+			VersionGrammar.builder ().qualifier (VersionQualifier.STABLE, "FINAL");
+			Assert.fail ();
+		} catch (IllegalArgumentException ignore) { }
+
+		// copies are independent
+		VersionGrammar grammar = VersionGrammar.DEFAULT.toBuilder ().qualifier (VersionQualifier.ALPHA, "EAP").build ();
+
+		Assert.assertEquals (VersionQualifier.ALPHA, grammar.getQualifier ("EAP-1"));
+		Assert.assertEquals (VersionQualifier.STABLE, VersionGrammar.DEFAULT.getQualifier ("EAP-1"));
+	}
+}
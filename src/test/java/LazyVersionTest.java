@@ -0,0 +1,151 @@
+import com.evilco.version.LazyVersion;
+import com.evilco.version.ParallelVersions;
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionCodec;
+import com.evilco.version.VersionGrammar;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionQualifier;
+import com.evilco.version.VersionRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class LazyVersionTest {
+
+	/**
+	 * Tests the equivalence of lazy and eagerly parsed versions.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void equivalence () throws VersionParserException {
+		String[] versions = new String[] { "1.0", "1.2.3.4", "1.2.3-ALPHA-2", "1.2.3-B3", "1.2.3-RC-1", "1.2.3-SNAPSHOT", "1.2.3-FOO", "1.2.3-", "2147483647.1" };
+
+		for (String string : versions) {
+			SimpleVersion expected = new SimpleVersion (string);
+			SimpleVersion version = new LazyVersion (string);
+
+			Assert.assertEquals (expected, version);
+			Assert.assertEquals (version, expected);
+			Assert.assertEquals (expected.hashCode (), version.hashCode ());
+			Assert.assertEquals (0, version.compareTo (expected));
+			Assert.assertEquals (0, expected.compareTo (version));
+			Assert.assertEquals (expected.toString (), version.toString ());
+			Assert.assertEquals (expected.getExtra (), version.getExtra ());
+			Assert.assertEquals (expected.getQualifier (), version.getQualifier ());
+			Assert.assertEquals (expected.getUnstableVersion (), version.getUnstableVersion ());
+			Assert.assertEquals (expected.getMajor (), version.getMajor ());
+			Assert.assertEquals (expected.getBuild (), version.getBuild ());
+			Assert.assertEquals (expected.isUnstableBuild (), version.isUnstableBuild ());
+		}
+	}
+
+	/**
+	 * Tests comparisons between lazy and eagerly parsed versions.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void comparison () throws VersionParserException {
+		Assert.assertTrue (new LazyVersion ("1.0-ALPHA").compareTo (new SimpleVersion ("1.0-BETA")) < 0);
+		Assert.assertTrue (new SimpleVersion ("1.0-RC-2").compareTo (new LazyVersion ("1.0-RC-1")) > 0);
+		Assert.assertTrue (new LazyVersion ("1.0").compareTo (new LazyVersion ("1.0-RC-1")) > 0);
+		Assert.assertTrue (new LazyVersion ("1.0-SNAPSHOT").isSnapshotBuild ());
+
+		// ranges
+		SimpleVersionRange range = new SimpleVersionRange ("[1.0,2.0)");
+		Assert.assertTrue (range.isInRange (new LazyVersion ("1.5-BETA")));
+		Assert.assertFalse (range.isInRange (new LazyVersion ("2.0")));
+	}
+
+	/**
+	 * Tests the usage of lazy versions in collections and utilities.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void interoperability () throws VersionParserException {
+		Set<SimpleVersion> set = new HashSet<SimpleVersion> ();
+		set.add (new SimpleVersion ("1.2.3-RC-1"));
+		Assert.assertTrue (set.contains (new LazyVersion ("1.2.3-RC-1")));
+
+		// sorting
+		SimpleVersion[] versions = new SimpleVersion[] { new LazyVersion ("2.0"), new SimpleVersion ("1.0"), new LazyVersion ("1.5-BETA"), new LazyVersion ("1.5") };
+		ParallelVersions.sort (versions);
+		Assert.assertEquals ("1.5.0-BETA", versions[1].toString ());
+		Assert.assertEquals ("2.0.0", versions[3].toString ());
+		Assert.assertEquals (new SimpleVersion ("1.5"), ParallelVersions.latestStable (new SimpleVersion[] { versions[0], versions[1], versions[2] }));
+
+		// registry
+		VersionRegistry<String> registry = new VersionRegistry<String> ();
+		registry.publish ("artifact", new LazyVersion ("1.0"));
+		registry.publish ("artifact", new LazyVersion ("1.1-SNAPSHOT"));
+		Assert.assertFalse (registry.publish ("artifact", new SimpleVersion ("1.0")));
+		Assert.assertEquals (new SimpleVersion ("1.1-SNAPSHOT"), registry.getLatest ("artifact", false));
+		Assert.assertEquals (new SimpleVersion ("1.0"), registry.getLatest ("artifact", true));
+
+		// codec
+		ByteBuffer buffer = ByteBuffer.allocate (64);
+		VersionCodec.write (new LazyVersion ("1.2.3-RC-4"), buffer);
+		buffer.flip ();
+		Assert.assertEquals (new SimpleVersion ("1.2.3-RC-4"), VersionCodec.readVersion (buffer));
+	}
+
+	/**
+	 * Tests regions, grammars and mutable input.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void input () throws VersionParserException {
+		VersionGrammar grammar = VersionGrammar.builder ().separator ("_").qualifier (VersionQualifier.SNAPSHOT, "DEV").build ();
+		SimpleVersion version = new LazyVersion ("v1_2-DEV!", 1, 8, grammar);
+		Assert.assertTrue (version.isSnapshotBuild ());
+		Assert.assertEquals ("DEV", version.getExtra ());
+		Assert.assertEquals ("1_2_0-DEV", version.toString ());
+
+		// mutable input is copied
+		StringBuilder builder = new StringBuilder ("1.2.3-BETA-2");
+		version = new LazyVersion (builder);
+		builder.setLength (0);
+		builder.append ("9.9.9-ALPHA-9");
+		Assert.assertEquals ("BETA-2", version.getExtra ());
+		Assert.assertEquals (VersionQualifier.BETA, version.getQualifier ());
+		Assert.assertEquals (2, version.getUnstableVersion ());
+	}
+
+	/**
+	 * Tests malformed versions.
+	 */
+	@Test
+	public void invalid () {
+		String[] versions = new String[] { "latest", "1.x", "1..2", "", "99999999999" };
+
+		for (String string : versions) {
+			try {
+				new LazyVersion (string);
+				Assert.fail ("Accepted " + string);
+			} catch (VersionParserException ex) {
+				// expected
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+import com.evilco.version.MappedVersionReader;
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionBatch;
+import com.evilco.version.VersionParserError;
+import com.evilco.version.VersionParserException;
+import com.google.common.base.Charsets;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class MappedReaderTest {
+
+	/**
+	 * Provides a temporary folder.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder ();
+
+	/**
+	 * Tests parsing of index files.
+	 * @throws IOException
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void file () throws IOException, VersionParserException {
+		File file = this.folder.newFile ("index.txt");
+		Files.write (file.toPath (), "com.evilco:version-parser 1.0.0\r\nother\t2.0-SNAPSHOT\n3.0.0-RC-1\nbroken 1.X\nunicode 1.٣-BETA-2\n".getBytes (Charsets.UTF_8));
+
+		VersionBatch batch = MappedVersionReader.read (file.toPath ());
+
+		// verify versions
+		Assert.assertEquals (5, batch.size ());
+		Assert.assertEquals (new SimpleVersion ("1.0.0"), batch.get (0));
+		Assert.assertEquals (new SimpleVersion ("2.0-SNAPSHOT"), batch.get (1));
+		Assert.assertEquals (new SimpleVersion ("3.0.0-RC-1"), batch.get (2));
+		Assert.assertNull (batch.get (3));
+		Assert.assertEquals (new SimpleVersion (1, 3, 0, 0, "BETA-2"), batch.get (4));
+
+		// verify failures
+		Assert.assertEquals (1, batch.getFailures ().size ());
+		Assert.assertEquals (3, batch.getFailures ().get (0).getIndex ());
+		Assert.assertEquals (VersionParserError.INVALID_NUMBER, batch.getFailures ().get (0).getError ());
+	}
+
+	/**
+	 * Tests parsing of buffers.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void buffer () throws VersionParserException {
+		ByteBuffer buffer = ByteBuffer.wrap ("artifact 1.0\nartifact 1.1-ALPHA".getBytes (Charsets.US_ASCII));
+		VersionBatch batch = MappedVersionReader.read (buffer);
+
+		// verify
+		Assert.assertEquals (2, batch.size ());
+		Assert.assertFalse (batch.hasFailures ());
+		Assert.assertEquals ("ALPHA", batch.get (1).getExtra ());
+		Assert.assertEquals (0, buffer.position ());
+	}
+
+	/**
+	 * Tests lines with leading and trailing whitespace.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void whitespace () throws VersionParserException {
+		ByteBuffer buffer = ByteBuffer.wrap ("artifact 1.0 \t\r\n  1.1-BETA-2\nartifact\t\t2.0\f\n \t\nunicode 1.٣ \r\n".getBytes (Charsets.UTF_8));
+		VersionBatch batch = MappedVersionReader.read (buffer);
+
+		// verify versions
+		Assert.assertEquals (5, batch.size ());
+		Assert.assertEquals (new SimpleVersion ("1.0"), batch.get (0));
+		Assert.assertEquals (new SimpleVersion ("1.1-BETA-2"), batch.get (1));
+		Assert.assertEquals (new SimpleVersion ("2.0"), batch.get (2));
+		Assert.assertNull (batch.get (3));
+		Assert.assertEquals (new SimpleVersion (1, 3), batch.get (4));
+
+		// blank lines are still rejected
+		Assert.assertEquals (1, batch.getFailures ().size ());
+		Assert.assertEquals (3, batch.getFailures ().get (0).getIndex ());
+	}
+}
@@ -0,0 +1,114 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionBatch;
+import com.evilco.version.VersionMetrics;
+import com.evilco.version.VersionParserError;
+import com.evilco.version.VersionParserException;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class MetricsTest {
+
+	/**
+	 * Tests whether disabled instrumentation leaves all counters untouched (default test execution).
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void disabled () throws VersionParserException {
+		Assume.assumeFalse (VersionMetrics.isEnabled ());
+
+		SimpleVersion version = new SimpleVersion ("1.0");
+		Assert.assertFalse (version.newer (new SimpleVersion ("2.0")));
+		Assert.assertFalse (version.equals (new SimpleVersion ("2.0")));
+		Assert.assertFalse (SimpleVersion.tryParse ("1.x").isValid ());
+
+		VersionMetrics.Snapshot snapshot = VersionMetrics.snapshot ();
+		Assert.assertEquals (0, snapshot.getParseCount ());
+		Assert.assertEquals (0, snapshot.getFailureCount ());
+		Assert.assertEquals (0, snapshot.getNewerCount ());
+		Assert.assertEquals (0, snapshot.getEqualsCount ());
+	}
+
+	/**
+	 * Tests the counters (enabled in a separate test execution, see pom.xml).
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void counters () throws VersionParserException {
+		Assume.assumeTrue (VersionMetrics.isEnabled ());
+		VersionMetrics.reset ();
+
+		// parses
+		SimpleVersion version1 = new SimpleVersion ("1.0");
+		SimpleVersion version2 = new SimpleVersion ("2.0-SNAPSHOT");
+
+		try {
+			new SimpleVersion ("1.x");
+			Assert.fail ();
+		} catch (VersionParserException ex) {
+			// expected
+		}
+
+		try {
+			new SimpleVersion ("1. 0");
+			Assert.fail ();
+		} catch (VersionParserException ex) {
+			// expected
+		}
+
+		VersionMetrics.Snapshot snapshot = VersionMetrics.snapshot ();
+		Assert.assertEquals (4, snapshot.getParseCount ());
+		Assert.assertEquals (2, snapshot.getFailureCount ());
+		Assert.assertEquals (1, snapshot.getFailureCount (VersionParserError.INVALID_NUMBER));
+		Assert.assertEquals (1, snapshot.getFailureCount (VersionParserError.WHITESPACE));
+		Assert.assertTrue (snapshot.getParseTime (TimeUnit.NANOSECONDS) > 0);
+
+		// exception free parsers
+		Assert.assertFalse (SimpleVersion.tryParse ("1.x").isValid ());
+		Assert.assertEquals (1, VersionBatch.parse (new CharSequence[] { "1.0", "1. 0", "2.0" }).getFailures ().size ());
+
+		snapshot = VersionMetrics.snapshot ();
+		Assert.assertEquals (8, snapshot.getParseCount ());
+		Assert.assertEquals (2, snapshot.getFailureCount (VersionParserError.INVALID_NUMBER));
+		Assert.assertEquals (2, snapshot.getFailureCount (VersionParserError.WHITESPACE));
+
+		// comparisons
+		Assert.assertTrue (version2.newer (version1));
+		Assert.assertFalse (version1.equals (version2));
+		Assert.assertTrue (new SimpleVersionRange (version1, version2).isInRange (version1));
+
+		snapshot = VersionMetrics.snapshot ();
+		Assert.assertEquals (2, snapshot.getNewerCount ());
+		Assert.assertEquals (1, snapshot.getEqualsCount ());
+		Assert.assertEquals (1, snapshot.getRangeCheckCount ());
+		Assert.assertTrue (snapshot.toString ().contains ("WHITESPACE=2"));
+
+		// reset
+		VersionMetrics.reset ();
+		snapshot = VersionMetrics.snapshot ();
+		Assert.assertEquals (0, snapshot.getParseCount ());
+		Assert.assertEquals (0, snapshot.getFailureCount ());
+		Assert.assertEquals (0, snapshot.getNewerCount ());
+	}
+}
@@ -6,6 +6,14 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
 /*
  * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
  *
@@ -65,6 +73,74 @@ public class MiscTest {
 		Assert.assertEquals ("[1.0.0,2.0.0)", range2.toString ());
 		Assert.assertEquals ("(1.0.0,2.0.0]", range3.toString ());
 		Assert.assertEquals ("(1.0.0,2.0.0)", range4.toString ());
+
+		// open ranges
+		Assert.assertEquals ("1.0.0", new SimpleVersionRange ("1.0").toString ());
+		Assert.assertEquals ("(1.0.0,)", new SimpleVersionRange (new SimpleVersion (1), false, null, false).toString ());
+		Assert.assertEquals (new SimpleVersionRange ("1.0"), new SimpleVersionRange (new SimpleVersionRange ("1.0").toString ()));
+	}
+
+	/**
+	 * Tests whether exported ranges are accepted by the parser.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void exportRoundTrip () throws VersionParserException {
+		SimpleVersion floor = new SimpleVersion ("1.0-BETA-2");
+		SimpleVersion[] ceilings = new SimpleVersion[] { new SimpleVersion ("2.0"), null };
+		boolean[] flags = new boolean[] { true, false };
+
+		for (SimpleVersion ceiling : ceilings) {
+			for (boolean floorFuzzy : flags) {
+				for (boolean ceilFuzzy : flags) {
+					SimpleVersionRange range = new SimpleVersionRange (floor, floorFuzzy, ceiling, ceilFuzzy);
+
+					Assert.assertEquals (range.toString (), range, new SimpleVersionRange (range.toString ()));
+					Assert.assertEquals (range, new SimpleVersionRange (range.appendTo (new StringBuilder ())));
+				}
+			}
+		}
+
+		// empty ceilings
+		Assert.assertEquals (new SimpleVersionRange ("1.0"), new SimpleVersionRange ("[1.0, )"));
+		Assert.assertNull (new SimpleVersionRange ("(1.0,]").getCeilingVersion ());
+	}
+
+	/**
+	 * Tests the append methods.
+	 * @throws IOException
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void exportAppend () throws IOException, VersionParserException {
+		SimpleVersion version = new SimpleVersion (-1, 2, 3, 4, "RC-1");
+		SimpleVersionRange range = new SimpleVersionRange ("[1.0-SNAPSHOT,2.0)");
+
+		// string builders and appendables
+		Assert.assertEquals ("v-1.2.3.4-RC-1", version.appendTo (new StringBuilder ("v")).toString ());
+		Assert.assertEquals ("[1.0.0-SNAPSHOT,2.0.0)", range.appendTo (new StringWriter ()).toString ());
+		Assert.assertEquals ("-2147483648.0.0", new SimpleVersion (Integer.MIN_VALUE).appendTo (new StringWriter ()).toString ());
+
+		// cached representations
+		Assert.assertSame (version.toString (), version.toString ());
+		Assert.assertSame (range.toString (), range.toString ());
+		Assert.assertEquals ("-1.2.3.4-RC-1", version.toString (false));
+
+		// buffers
+		ByteBuffer buffer = ByteBuffer.allocate (64);
+		range.appendTo (buffer);
+		new SimpleVersion (1, 0, 0, 0, "\u00dcBER").appendTo (buffer);
+		Assert.assertEquals ("[1.0.0-SNAPSHOT,2.0.0)1.0.0-?BER", new String (buffer.array (), 0, buffer.position (), StandardCharsets.US_ASCII));
+
+		buffer = ByteBuffer.allocate (8);
+		buffer.put ((byte) 'x');
+
+		try {
+			range.appendTo (buffer);
+			Assert.fail ();
+		} catch (BufferOverflowException ignore) { }
+
+		Assert.assertEquals (1, buffer.position ());
 	}
 
 	/**
@@ -108,4 +184,28 @@ public class MiscTest {
 		Assert.assertTrue (range.isInRange (testVersion1));
 		Assert.assertTrue (range.isInRange (version1));
 	}
+
+	/**
+	 * Tests the hash code implementations.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void hashCodes () throws VersionParserException {
+		// check versions
+		Assert.assertEquals (new SimpleVersion (1, 2, 3, 4, null).hashCode (), new SimpleVersion ("1.2.3.4").hashCode ());
+		Assert.assertEquals (new SimpleVersion (1, 0, 0, 0, null).hashCode (), new SimpleVersion (1, 0, 0, 0, "TEST").hashCode ());
+		Assert.assertEquals (new SimpleVersion (1, 0, 0, 0, "SNAPSHOT").hashCode (), new SimpleVersion (1, 0, 0, 0, "SNAPSHOT-2").hashCode ());
+
+		// check ranges
+		Assert.assertEquals (new SimpleVersionRange ("[1.0,2.0)").hashCode (), new SimpleVersionRange ("1.0", true, "2.0", false).hashCode ());
+
+		// check hash based collections
+		Set<Object> set = new HashSet<> ();
+		set.add (new SimpleVersion ("1.0.0-RC-1"));
+		set.add (new SimpleVersionRange ("1.0"));
+
+		Assert.assertTrue (set.contains (new SimpleVersion (1, 0, 0, 0, "rc-1")));
+		Assert.assertFalse (set.contains (new SimpleVersion (1, 0, 0, 0, "RC-2")));
+		Assert.assertTrue (set.contains (new SimpleVersionRange ("1.0.0")));
+	}
 }
\ No newline at end of file
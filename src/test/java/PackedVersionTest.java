@@ -0,0 +1,103 @@
+import com.evilco.version.PackedVersion;
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionQualifier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class PackedVersionTest {
+
+	/**
+	 * Tests whether packed keys retain the version ordering.
+	 */
+	@Test
+	public void ordering () {
+		// create versions (in ascending order)
+		SimpleVersion[] versions = new SimpleVersion[] {
+			new SimpleVersion (1, 0, 0, 0, "ALPHA-1"),
+			new SimpleVersion (1, 0, 0, 0, "BETA-1"),
+			new SimpleVersion (1, 0, 0, 0, "SNAPSHOT"),
+			new SimpleVersion (1, 0, 0, 0, "RC-1"),
+			new SimpleVersion (1, 0, 0, 0, "RC-2"),
+			new SimpleVersion (1, 0, 0, 0, null),
+			new SimpleVersion (1, 0, 0, 65535, null),
+			new SimpleVersion (1, 0, 1, 0, null),
+			new SimpleVersion (1, 4095, 0, 0, null),
+			new SimpleVersion (4095, 0, 0, 0, null)
+		};
+
+		// compare
+		for (int i = 0; i < versions.length; i++) {
+			for (int j = 0; j < versions.length; j++) {
+				Assert.assertEquals (Integer.signum (versions[i].compareTo (versions[j])), PackedVersion.compare (PackedVersion.encode (versions[i]), PackedVersion.encode (versions[j])));
+			}
+		}
+	}
+
+	/**
+	 * Tests encoding and decoding.
+	 */
+	@Test
+	public void decode () {
+		// create version
+		SimpleVersion version = new SimpleVersion (1, 2, 3, 4, "rc-5");
+		long key = PackedVersion.encode (version);
+
+		// verify
+		Assert.assertEquals (version, PackedVersion.decode (key));
+		Assert.assertEquals (5, PackedVersion.getUnstableVersion (key));
+		Assert.assertTrue (PackedVersion.isUnstableBuild (key));
+		Assert.assertEquals (PackedVersion.encode (new SimpleVersion (1, 0, 0, 0, "SNAPSHOT")), PackedVersion.encode (new SimpleVersion (1, 0, 0, 0, "SNAPSHOT-2")));
+		Assert.assertEquals (-1, PackedVersion.getUnstableVersion (PackedVersion.encode (new SimpleVersion (1, 0, 0, 0, "TEST"))));
+	}
+
+	/**
+	 * Tests the overflow detection.
+	 */
+	@Test (expected = IllegalArgumentException.class)
+	public void overflow () {
+		Assert.assertFalse (PackedVersion.fits (new SimpleVersion (1, 0, 0, 65536, null)));
+		PackedVersion.encode (new SimpleVersion (1, 0, 0, 65536, null));
+	}
+
+	/**
+	 * Tests the rejection of keys with an unknown qualifier rank.
+	 */
+	@Test
+	public void invalidQualifier () {
+		long key = PackedVersion.encode (new SimpleVersion (1, 2, 3, 4, "SNAPSHOT"));
+
+		for (long rank = VersionQualifier.values ().length; rank < 8; rank++) {
+			try {
+				PackedVersion.decode ((key & ~(0x7L << 9)) | (rank << 9));
+				Assert.fail ("Accepted qualifier rank " + rank);
+			} catch (IllegalArgumentException ex) {
+				Assert.assertTrue (ex.getMessage ().contains ("qualifier rank " + rank));
+			}
+		}
+
+		try {
+			PackedVersion.decode (PackedVersion.INVALID);
+			Assert.fail ("Accepted invalid key");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+}
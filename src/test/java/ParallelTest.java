@@ -0,0 +1,109 @@
+import com.evilco.version.ParallelVersions;
+import com.evilco.version.SimpleVersion;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class ParallelTest {
+
+	/**
+	 * Defines the extra bits used for generated versions.
+	 */
+	private static final String[] EXTRA_BITS = { null, "ALPHA", "b-2", "SNAPSHOT", "snapshot", "RC-1", "RC-3" };
+
+	/**
+	 * Creates a set of random versions (including duplicates and versions without packed keys).
+	 * @param amount The amount of versions.
+	 * @return The versions.
+	 */
+	private static SimpleVersion[] createVersions (int amount) {
+		Random random = new Random (42);
+		SimpleVersion[] versions = new SimpleVersion[amount];
+
+		for (int i = 0; i < amount; i++) {
+			int majorBit = (random.nextInt (100) == 0 ? 100000 : random.nextInt (5));
+			versions[i] = new SimpleVersion (majorBit, random.nextInt (20), random.nextInt (20), 0, EXTRA_BITS[random.nextInt (EXTRA_BITS.length)]);
+		}
+
+		return versions;
+	}
+
+	/**
+	 * Tests whether parallel sorting and deduplication matches the sequential results.
+	 */
+	@Test
+	public void sortUnique () {
+		SimpleVersion[] versions = createVersions (100000);
+		ForkJoinPool pool = new ForkJoinPool (4);
+
+		// sequential reference (stable sort, keep the first of all equal versions)
+		SimpleVersion[] expected = versions.clone ();
+		Arrays.sort (expected);
+
+		List<SimpleVersion> expectedUnique = new ArrayList<SimpleVersion> ();
+
+		for (SimpleVersion version : expected) {
+			if (expectedUnique.isEmpty () || !expectedUnique.get (expectedUnique.size () - 1).equals (version)) expectedUnique.add (version);
+		}
+
+		// sort
+		SimpleVersion[] sorted = versions.clone ();
+		ParallelVersions.sort (sorted, pool);
+
+		for (int i = 0; i < expected.length; i++) Assert.assertSame (expected[i], sorted[i]);
+
+		// deduplicate
+		SimpleVersion[] unique = ParallelVersions.sortUnique (Arrays.asList (versions), pool);
+
+		Assert.assertEquals (expectedUnique.size (), unique.length);
+		for (int i = 0; i < unique.length; i++) Assert.assertSame (expectedUnique.get (i), unique[i]);
+
+		pool.shutdown ();
+	}
+
+	/**
+	 * Tests the parallel searches.
+	 */
+	@Test
+	public void max () {
+		SimpleVersion[] versions = createVersions (50000);
+
+		// sequential reference
+		SimpleVersion expectedMax = null;
+		SimpleVersion expectedStable = null;
+
+		for (SimpleVersion version : versions) {
+			if (expectedMax == null || version.compareTo (expectedMax) > 0) expectedMax = version;
+			if (!version.isUnstableBuild () && (expectedStable == null || version.compareTo (expectedStable) > 0)) expectedStable = version;
+		}
+
+		// verify
+		Assert.assertSame (expectedMax, ParallelVersions.max (versions));
+		Assert.assertSame (expectedStable, ParallelVersions.latestStable (versions));
+		Assert.assertNull (ParallelVersions.max (new SimpleVersion[0]));
+		Assert.assertNull (ParallelVersions.latestStable (new SimpleVersion[] { new SimpleVersion (1, 0, 0, 0, "SNAPSHOT") }));
+	}
+}
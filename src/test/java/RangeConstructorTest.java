@@ -123,6 +123,40 @@ public class RangeConstructorTest {
 		Assert.assertTrue (range.isInRange (version2));
 	}
 
+	/**
+	 * Tests the parser whitespace handling.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void parserWhitespace () throws VersionParserException {
+		// create expected range
+		SimpleVersionRange range = new SimpleVersionRange ("1.0", true, "2.0-RC-1", false);
+
+		// verify
+		Assert.assertEquals (range, new SimpleVersionRange ("[1.0,2.0-RC-1)"));
+		Assert.assertEquals (range, new SimpleVersionRange (new StringBuilder (" [ 1.0 ,\t2.0-RC-1 ) ")));
+		Assert.assertEquals (range, new SimpleVersionRange ("[1. 0,2.0-RC -1)"));
+		Assert.assertEquals (new SimpleVersionRange ("1.0.1"), new SimpleVersionRange (" 1.0 .1 "));
+	}
+
+	/**
+	 * Tests the parser error detection.
+	 * @throws VersionParserException
+	 */
+	@Test (expected = VersionParserException.class)
+	public void parserMissingFloorError () throws VersionParserException {
+		new SimpleVersionRange (",2.0.0]");
+	}
+
+	/**
+	 * Tests the parser error detection.
+	 * @throws VersionParserException
+	 */
+	@Test (expected = VersionParserException.class)
+	public void parserBlankFloorError () throws VersionParserException {
+		new SimpleVersionRange ("( ,2.0.0]");
+	}
+
 	/**
 	 * Tests the parser constructor against the specification.
 	 * @throws VersionParserException
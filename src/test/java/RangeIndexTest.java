@@ -0,0 +1,91 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionRangeIndex;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class RangeIndexTest {
+
+	/**
+	 * Tests stabbing queries against a small set of ranges.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void findContaining () throws VersionParserException {
+		SimpleVersionRange inclusive = new SimpleVersionRange ("[1.0,2.0]");
+		SimpleVersionRange exclusive = new SimpleVersionRange ("(1.0,2.0)");
+		SimpleVersionRange open = new SimpleVersionRange ("1.5");
+		SimpleVersionRange empty = new SimpleVersionRange ("[3.0,3.0)");
+
+		VersionRangeIndex index = new VersionRangeIndex (ImmutableList.of (inclusive, exclusive, open, empty));
+
+		// verify
+		Assert.assertEquals (4, index.size ());
+		Assert.assertEquals (ImmutableList.of (inclusive), index.findContaining (new SimpleVersion ("1.0")));
+		Assert.assertEquals (HashMultiset.create (ImmutableList.of (inclusive, exclusive, open)), HashMultiset.create (index.findContaining (new SimpleVersion ("1.5"))));
+		Assert.assertEquals (HashMultiset.create (ImmutableList.of (inclusive, open)), HashMultiset.create (index.findContaining (new SimpleVersion ("2.0"))));
+		Assert.assertEquals (ImmutableList.of (open), index.findContaining (new SimpleVersion ("3.0")));
+		Assert.assertEquals (Collections.emptyList (), index.findContaining (new SimpleVersion ("0.9")));
+	}
+
+	/**
+	 * Tests stabbing queries against a brute force search.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void randomized () throws VersionParserException {
+		Random random = new Random (42);
+		List<SimpleVersionRange> ranges = new ArrayList<SimpleVersionRange> ();
+
+		for (int i = 0; i < 5000; i++) {
+			SimpleVersion floor = new SimpleVersion (random.nextInt (10), random.nextInt (5));
+			SimpleVersion ceiling = (random.nextInt (10) == 0 ? null : new SimpleVersion (floor.getMajor () + random.nextInt (3), random.nextInt (5)));
+			if (ceiling != null && floor.newer (ceiling)) ceiling = floor;
+
+			ranges.add (new SimpleVersionRange (floor, random.nextBoolean (), ceiling, random.nextBoolean ()));
+		}
+
+		VersionRangeIndex index = new VersionRangeIndex (ranges);
+
+		for (int major = 0; major < 13; major++) {
+			for (int minor = 0; minor < 6; minor++) {
+				for (String extraBit : new String[] { null, "SNAPSHOT" }) {
+					SimpleVersion version = new SimpleVersion (major, minor, 0, 0, extraBit);
+					List<SimpleVersionRange> expected = new ArrayList<SimpleVersionRange> ();
+
+					for (SimpleVersionRange range : ranges) {
+						if (range.isInRange (version)) expected.add (range);
+					}
+
+					Assert.assertEquals (version.toString (), HashMultiset.create (expected), HashMultiset.create (index.findContaining (version)));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionRangeMatcher;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Random;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class RangeMatcherTest {
+
+	/**
+	 * Defines the qualifiers used for random versions.
+	 */
+	protected static final String[] EXTRA = new String[] { null, "ALPHA-1", "BETA-2", "SNAPSHOT", "RC-1", "RC-2" };
+
+	/**
+	 * Creates a random version.
+	 * @param random The random source.
+	 * @return The version.
+	 */
+	protected static SimpleVersion createVersion (Random random) {
+		return new SimpleVersion (random.nextInt (3), random.nextInt (3), random.nextInt (2), (random.nextInt (10) == 0 ? 70000 : 0), EXTRA[random.nextInt (EXTRA.length)]);
+	}
+
+	/**
+	 * Tests whether compiled ranges match the same versions as their source ranges.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void consistency () throws VersionParserException {
+		Random random = new Random (42);
+
+		for (int i = 0; i < 500; i++) {
+			// create range
+			SimpleVersion floor = createVersion (random);
+			SimpleVersion ceil = createVersion (random);
+
+			if (floor.newer (ceil)) {
+				SimpleVersion tmp = floor;
+				floor = ceil;
+				ceil = tmp;
+			}
+
+			SimpleVersionRange range = new SimpleVersionRange (floor, random.nextBoolean (), (random.nextInt (5) == 0 ? null : ceil), random.nextBoolean ());
+			VersionRangeMatcher matcher = range.compile ();
+
+			// compare
+			for (int j = 0; j < 50; j++) {
+				SimpleVersion version = createVersion (random);
+				Assert.assertEquals (range.isInRange (version), matcher.matches (version));
+			}
+
+			Assert.assertEquals (range.isInRange (floor), matcher.matches (floor));
+			Assert.assertEquals (range.isInRange (ceil), matcher.matches (ceil));
+		}
+	}
+
+	/**
+	 * Tests exclusive bounds.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void exclusive () throws VersionParserException {
+		VersionRangeMatcher matcher = new SimpleVersionRange ("(1.0.0,2.0.0)").compile ();
+
+		// verify
+		Assert.assertFalse (matcher.matches (new SimpleVersion ("1.0.0")));
+		Assert.assertTrue (matcher.matches (new SimpleVersion ("1.0.0.1")));
+		Assert.assertTrue (matcher.matches (new SimpleVersion ("2.0.0-RC-1")));
+		Assert.assertFalse (matcher.matches (new SimpleVersion ("2.0.0")));
+		Assert.assertFalse (new SimpleVersionRange ("(0.0.0-ALPHA,0.0.0-ALPHA)").compile ().matches (new SimpleVersion ("0.0.0-ALPHA")));
+	}
+
+	/**
+	 * Tests open ranges below their floor.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void openRange () throws VersionParserException {
+		SimpleVersionRange range = new SimpleVersionRange ("1.5");
+
+		// verify
+		Assert.assertFalse (range.isInRange (new SimpleVersion ("1.0")));
+		Assert.assertFalse (range.compile ().matches (new SimpleVersion ("1.0")));
+		Assert.assertTrue (range.compile ().matches (new SimpleVersion ("100000.0")));
+	}
+}
@@ -0,0 +1,157 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionRangeSet;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class RangeSetTest {
+
+	/**
+	 * Tests the normalization.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void normalize () throws VersionParserException {
+		// adjacent and overlapping ranges are merged
+		VersionRangeSet set = VersionRangeSet.of (new SimpleVersionRange ("[2.0,3.0]"), new SimpleVersionRange ("[1.0,2.0)"), new SimpleVersionRange ("(2.5,4.0)"));
+
+		Assert.assertEquals (1, set.size ());
+		Assert.assertEquals (ImmutableList.of (new SimpleVersionRange ("[1.0,4.0)")), set.getRanges ());
+
+		// ranges which exclude the same version are not merged
+		set = VersionRangeSet.of (new SimpleVersionRange ("[1.0,2.0)"), new SimpleVersionRange ("(2.0,3.0]"));
+
+		Assert.assertEquals (2, set.size ());
+		Assert.assertFalse (set.contains (new SimpleVersion ("2.0")));
+		Assert.assertEquals ("[1.0.0,2.0.0),(2.0.0,3.0.0]", set.toString ());
+
+		// empty ranges are dropped
+		Assert.assertTrue (VersionRangeSet.of (new SimpleVersionRange ("[1.0,1.0)")).isEmpty ());
+		Assert.assertEquals (VersionRangeSet.EMPTY, VersionRangeSet.of ());
+	}
+
+	/**
+	 * Tests complements.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void complement () throws VersionParserException {
+		VersionRangeSet set = VersionRangeSet.of (new SimpleVersionRange ("[1.0,2.0)"), new SimpleVersionRange ("3.0"));
+		VersionRangeSet complement = set.complement ();
+
+		// verify
+		Assert.assertTrue (complement.isUnboundedBelow ());
+		Assert.assertEquals ("(,1.0.0),[2.0.0,3.0.0)", complement.toString ());
+		Assert.assertEquals (set, complement.complement ());
+		Assert.assertEquals (VersionRangeSet.ALL, set.union (complement));
+		Assert.assertTrue (set.intersect (complement).isEmpty ());
+		Assert.assertEquals (VersionRangeSet.EMPTY, VersionRangeSet.ALL.complement ());
+
+		try {
+			complement.getRanges ();
+			Assert.fail ();
+		} catch (IllegalStateException ignore) { }
+	}
+
+	/**
+	 * Tests all operations against a brute force evaluation.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void randomized () throws VersionParserException {
+		Random random = new Random (42);
+
+		// build a grid of versions
+		List<SimpleVersion> versions = new ArrayList<SimpleVersion> ();
+
+		for (int major = 0; major < 8; major++) {
+			for (int minor = 0; minor < 3; minor++) {
+				versions.add (new SimpleVersion (major, minor, 0, 0, "RC-1"));
+				versions.add (new SimpleVersion (major, minor));
+			}
+		}
+
+		for (int run = 0; run < 200; run++) {
+			List<SimpleVersionRange> ranges1 = createRanges (random, versions);
+			List<SimpleVersionRange> ranges2 = createRanges (random, versions);
+
+			VersionRangeSet set1 = VersionRangeSet.of (ranges1);
+			VersionRangeSet set2 = VersionRangeSet.of (ranges2);
+			VersionRangeSet union = set1.union (set2);
+			VersionRangeSet intersection = set1.intersect (set2);
+			VersionRangeSet complement = set1.complement ();
+
+			for (SimpleVersion version : versions) {
+				boolean contained1 = contains (ranges1, version);
+				boolean contained2 = contains (ranges2, version);
+
+				Assert.assertEquals (contained1, set1.contains (version));
+				Assert.assertEquals ((contained1 || contained2), union.contains (version));
+				Assert.assertEquals ((contained1 && contained2), intersection.contains (version));
+				Assert.assertEquals (!contained1, complement.contains (version));
+			}
+
+			// normalized sets are minimal
+			Assert.assertEquals (set1, VersionRangeSet.of (set1.getRanges ()));
+			Assert.assertTrue (set1.size () <= ranges1.size ());
+		}
+	}
+
+	/**
+	 * Creates a list of random ranges.
+	 * @param random The random number generator.
+	 * @param versions The versions to pick bounds from.
+	 * @return The ranges.
+	 * @throws VersionParserException
+	 */
+	private static List<SimpleVersionRange> createRanges (Random random, List<SimpleVersion> versions) throws VersionParserException {
+		List<SimpleVersionRange> ranges = new ArrayList<SimpleVersionRange> ();
+
+		for (int i = random.nextInt (4); i >= 0; i--) {
+			int floor = random.nextInt (versions.size ());
+			int ceiling = (floor + random.nextInt (versions.size () - floor));
+
+			ranges.add (new SimpleVersionRange (versions.get (floor), random.nextBoolean (), (random.nextInt (5) == 0 ? null : versions.get (ceiling)), random.nextBoolean ()));
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * Checks whether any of the ranges contains a version.
+	 * @param ranges The ranges.
+	 * @param version The version.
+	 * @return True if the version is contained.
+	 */
+	private static boolean contains (List<SimpleVersionRange> ranges, SimpleVersion version) {
+		for (SimpleVersionRange range : ranges) {
+			if (range.isInRange (version)) return true;
+		}
+
+		return false;
+	}
+}
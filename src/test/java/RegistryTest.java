@@ -0,0 +1,119 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionRegistry;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class RegistryTest {
+
+	/**
+	 * Tests publishing, retracting and queries.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void queries () throws VersionParserException {
+		VersionRegistry<String> registry = new VersionRegistry<String> ();
+
+		Assert.assertTrue (registry.publish ("core", new SimpleVersion ("1.0")));
+		Assert.assertFalse (registry.publish ("core", new SimpleVersion ("1.0.0")));
+		registry.publishAll ("core", ImmutableList.of (new SimpleVersion ("2.0-RC-1"), new SimpleVersion ("1.5"), new SimpleVersion ("2.0")));
+
+		Assert.assertEquals (1, registry.size ());
+		Assert.assertEquals (ImmutableList.of (new SimpleVersion ("1.0"), new SimpleVersion ("1.5"), new SimpleVersion ("2.0-RC-1"), new SimpleVersion ("2.0")), registry.getVersions ("core"));
+		Assert.assertTrue (registry.contains ("core", new SimpleVersion ("1.5")));
+		Assert.assertEquals (new SimpleVersion ("2.0"), registry.getLatest ("core", false));
+		Assert.assertEquals (new SimpleVersion ("2.0-RC-1"), registry.getLatest ("core", new SimpleVersionRange ("[1.0,2.0)"), false));
+		Assert.assertEquals (new SimpleVersion ("1.5"), registry.getLatest ("core", new SimpleVersionRange ("[1.0,2.0)"), true));
+
+		// merge duplicates and interleaved versions
+		registry.publishAll ("core", ImmutableList.of (new SimpleVersion ("1.5"), new SimpleVersion ("2.0.0")));
+		Assert.assertEquals (4, registry.getVersions ("core").size ());
+		registry.publishAll ("core", ImmutableList.of (new SimpleVersion ("3.0"), new SimpleVersion ("1.2"), new SimpleVersion ("2.0"), new SimpleVersion ("0.1")));
+		Assert.assertEquals (ImmutableList.of (new SimpleVersion ("0.1"), new SimpleVersion ("1.0"), new SimpleVersion ("1.2"), new SimpleVersion ("1.5"), new SimpleVersion ("2.0-RC-1"), new SimpleVersion ("2.0"), new SimpleVersion ("3.0")), registry.getVersions ("core"));
+		Assert.assertTrue (registry.retract ("core", new SimpleVersion ("0.1")));
+		Assert.assertTrue (registry.retract ("core", new SimpleVersion ("1.2")));
+		Assert.assertTrue (registry.retract ("core", new SimpleVersion ("3.0")));
+
+		// retract versions
+		List<SimpleVersion> snapshot = registry.getVersions ("core");
+		Assert.assertTrue (registry.retract ("core", new SimpleVersion ("2.0")));
+		Assert.assertFalse (registry.retract ("core", new SimpleVersion ("2.0")));
+		Assert.assertEquals (new SimpleVersion ("2.0-RC-1"), registry.getLatest ("core", false));
+		Assert.assertEquals (new SimpleVersion ("1.5"), registry.getLatest ("core", true));
+		Assert.assertEquals (4, snapshot.size ());
+
+		// unknown artifacts
+		Assert.assertTrue (registry.getVersions ("other").isEmpty ());
+		Assert.assertNull (registry.getLatest ("other", false));
+		Assert.assertFalse (registry.retract ("other", new SimpleVersion ("1.0")));
+		Assert.assertTrue (registry.remove ("core"));
+		Assert.assertEquals (0, registry.size ());
+	}
+
+	/**
+	 * Tests concurrent updates of the same artifacts.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void concurrentPublish () throws InterruptedException {
+		final VersionRegistry<Integer> registry = new VersionRegistry<Integer> ();
+		final CountDownLatch start = new CountDownLatch (1);
+		Thread[] threads = new Thread[4];
+
+		for (int i = 0; i < threads.length; i++) {
+			final int thread = i;
+
+			threads[i] = new Thread () {
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public void run () {
+					try {
+						start.await ();
+					} catch (InterruptedException ex) {
+						return;
+					}
+
+					for (int j = 0; j < 1000; j++) registry.publish ((j % 8), new SimpleVersion (thread, j));
+				}
+			};
+
+			threads[i].start ();
+		}
+
+		start.countDown ();
+		for (Thread thread : threads) thread.join ();
+
+		Assert.assertEquals (8, registry.size ());
+
+		for (int i = 0; i < 8; i++) {
+			Assert.assertEquals (500, registry.getVersions (i).size ());
+			Assert.assertEquals (new SimpleVersion (3, (992 + i)), registry.getLatest (i, false));
+		}
+	}
+}
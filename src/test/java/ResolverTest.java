@@ -0,0 +1,124 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionResolver;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class ResolverTest {
+
+	/**
+	 * Defines the extra bits used by the random versions.
+	 */
+	private static final String[] EXTRA_BITS = { null, null, null, "SNAPSHOT", "RC-1", "RC-2", "BETA", "ALPHA-1" };
+
+	/**
+	 * Tests single queries.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void resolve () throws VersionParserException {
+		VersionResolver<String> resolver = new VersionResolver<String> (ImmutableMap.of (
+			"core", ImmutableList.of (new SimpleVersion ("1.0"), new SimpleVersion ("1.5"), new SimpleVersion ("2.0-RC-1"), new SimpleVersion ("2.0"), new SimpleVersion ("2.1-SNAPSHOT"), new SimpleVersion ("1.5"))
+		));
+
+		Assert.assertEquals (1, resolver.size ());
+		Assert.assertEquals (new SimpleVersion ("2.1-SNAPSHOT"), resolver.resolve ("core", new SimpleVersionRange ("1.0"), false));
+		Assert.assertEquals (new SimpleVersion ("2.0"), resolver.resolve ("core", new SimpleVersionRange ("1.0"), true));
+		Assert.assertEquals (new SimpleVersion ("2.0-RC-1"), resolver.resolve ("core", new SimpleVersionRange ("[1.0,2.0)"), false));
+		Assert.assertEquals (new SimpleVersion ("1.5"), resolver.resolve ("core", new SimpleVersionRange ("[1.0,2.0)"), true));
+		Assert.assertEquals (new SimpleVersion ("2.0"), resolver.resolve ("core", new SimpleVersionRange ("[1.0,2.0]"), true));
+		Assert.assertNull (resolver.resolve ("core", new SimpleVersionRange ("(1.0,1.5)"), false));
+		Assert.assertNull (resolver.resolve ("core", new SimpleVersionRange ("3.0"), false));
+		Assert.assertNull (resolver.resolve ("other", new SimpleVersionRange ("1.0"), false));
+	}
+
+	/**
+	 * Tests batches against a nested loop over all versions.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void batch () throws VersionParserException {
+		Random random = new Random (42);
+		Map<Integer, List<SimpleVersion>> versions = new HashMap<Integer, List<SimpleVersion>> ();
+		Map<Integer, SimpleVersionRange> ranges = new HashMap<Integer, SimpleVersionRange> ();
+
+		for (int i = 0; i < 5000; i++) {
+			List<SimpleVersion> available = new ArrayList<SimpleVersion> ();
+			for (int j = random.nextInt (20); j > 0; j--) available.add (createVersion (random));
+			if (i % 10 != 0) versions.put (i, available);
+
+			// create range
+			SimpleVersion floor = createVersion (random);
+			SimpleVersion ceiling = (random.nextBoolean () ? null : createVersion (random));
+			if (ceiling != null && floor.newer (ceiling)) ceiling = floor;
+
+			ranges.put (i, new SimpleVersionRange (floor, random.nextBoolean (), ceiling, random.nextBoolean ()));
+		}
+
+		VersionResolver<Integer> resolver = new VersionResolver<Integer> (versions);
+		ForkJoinPool pool = new ForkJoinPool (4);
+
+		try {
+			for (boolean stableOnly : new boolean[] { false, true }) {
+				Map<Integer, SimpleVersion> result = resolver.resolve (ranges, stableOnly, pool);
+				Map<Integer, SimpleVersion> expected = new HashMap<Integer, SimpleVersion> ();
+
+				for (Map.Entry<Integer, SimpleVersionRange> entry : ranges.entrySet ()) {
+					List<SimpleVersion> available = versions.get (entry.getKey ());
+					if (available == null) continue;
+
+					SimpleVersion newest = null;
+
+					for (SimpleVersion version : available) {
+						if (!entry.getValue ().isInRange (version) || (stableOnly && version.isUnstableBuild ())) continue;
+						if (newest == null || version.newer (newest)) newest = version;
+					}
+
+					if (newest != null) expected.put (entry.getKey (), newest);
+				}
+
+				Assert.assertEquals (expected, result);
+				Assert.assertEquals (result, resolver.resolve (ranges, stableOnly));
+			}
+		} finally {
+			pool.shutdown ();
+		}
+	}
+
+	/**
+	 * Creates a random version.
+	 * @param random The random number generator.
+	 * @return The version.
+	 */
+	private static SimpleVersion createVersion (Random random) {
+		return new SimpleVersion (random.nextInt (3), random.nextInt (4), random.nextInt (3), 0, EXTRA_BITS[random.nextInt (EXTRA_BITS.length)]);
+	}
+}
@@ -0,0 +1,106 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionGrammar;
+import com.evilco.version.VersionParseResult;
+import com.evilco.version.VersionParserError;
+import com.evilco.version.VersionParserException;
+import com.evilco.version.VersionQualifier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class TryParseTest {
+
+	/**
+	 * Tests valid versions.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void valid () throws VersionParserException {
+		VersionParseResult result = SimpleVersion.tryParse ("1.2.3-RC-4");
+
+		Assert.assertTrue (result.isValid ());
+		Assert.assertEquals (new SimpleVersion ("1.2.3-RC-4"), result.getVersion ());
+		Assert.assertEquals ("RC-4", result.getVersion ().getExtra ());
+		Assert.assertEquals (4, result.getVersion ().getUnstableVersion ());
+		Assert.assertSame (result.getVersion (), result.getVersionOrThrow ());
+		Assert.assertSame (result.getVersion (), result.asOptional ().get ());
+		Assert.assertNull (result.getError ());
+		Assert.assertNull (result.getErrorMessage ());
+		Assert.assertEquals (-1, result.getErrorPosition ());
+
+		// regions and grammars
+		result = SimpleVersion.tryParse ("v1_2-DEV!", 1, 8, VersionGrammar.builder ().separator ("_").qualifier (VersionQualifier.SNAPSHOT, "DEV").build ());
+		Assert.assertTrue (result.getVersion ().isSnapshotBuild ());
+		Assert.assertEquals ("1_2_0-DEV", result.toString ());
+		Assert.assertTrue (VersionGrammar.DEFAULT.tryParse ("2.0").isValid ());
+	}
+
+	/**
+	 * Tests malformed versions.
+	 */
+	@Test
+	public void invalid () {
+		String[] versions = new String[] { "latest", "v1.2", "1.x", "1..2", "1.2.3 -SNAPSHOT", "", "1.2.beta", "99999999999" };
+
+		for (String version : versions) {
+			VersionParseResult result = SimpleVersion.tryParse (version);
+			Assert.assertFalse (version, result.isValid ());
+			Assert.assertNull (result.getVersion ());
+			Assert.assertFalse (result.asOptional ().isPresent ());
+
+			// compare with exceptions
+			try {
+				new SimpleVersion (version);
+				Assert.fail ();
+			} catch (VersionParserException ex) {
+				Assert.assertEquals (ex.getMessage (), result.getErrorMessage ());
+			}
+
+			try {
+				result.getVersionOrThrow ();
+				Assert.fail ();
+			} catch (VersionParserException ex) {
+				Assert.assertEquals (result.getErrorMessage (), ex.getMessage ());
+			}
+		}
+
+		// error codes and positions
+		VersionParseResult result = SimpleVersion.tryParse ("1.x");
+		Assert.assertEquals (VersionParserError.INVALID_NUMBER, result.getError ());
+		Assert.assertEquals (2, result.getErrorPosition ());
+
+		result = SimpleVersion.tryParse ("1.2 ");
+		Assert.assertEquals (VersionParserError.WHITESPACE, result.getError ());
+		Assert.assertEquals (3, result.getErrorPosition ());
+
+		// mutable input
+		StringBuilder builder = new StringBuilder ("1.x");
+		result = SimpleVersion.tryParse (builder);
+		builder.setLength (0);
+		Assert.assertEquals ("Found invalid version number in minor version bit: For input string: \"x\"", result.getErrorMessage ());
+
+		// regions of larger inputs
+		builder = new StringBuilder ("1.0 2.0 3.beta 4.0");
+		result = SimpleVersion.tryParse (builder, 8, 14, VersionGrammar.DEFAULT);
+		builder.setLength (0);
+		Assert.assertEquals (10, result.getErrorPosition ());
+		Assert.assertEquals ("Found invalid version number in minor version bit: For input string: \"beta\"", result.getErrorMessage ());
+	}
+}
@@ -0,0 +1,94 @@
+import com.evilco.version.SimpleVersion;
+import com.evilco.version.SimpleVersionRange;
+import com.evilco.version.VersionArray;
+import com.evilco.version.VersionParserException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/*
+ * Copyright (C) 2014 Evil-Co <http://wwww.evil-co.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@RunWith (MockitoJUnitRunner.class)
+public class VersionArrayTest {
+
+	/**
+	 * Creates a test array.
+	 * @return The array.
+	 */
+	protected static VersionArray createArray () throws VersionParserException {
+		return new VersionArray (
+			new SimpleVersion ("2.0.0"),
+			new SimpleVersion ("1.0.0"),
+			new SimpleVersion ("1.2.0-RC-1"),
+			new SimpleVersion ("1.2.0"),
+			new SimpleVersion ("1.5.3"),
+			new SimpleVersion ("1.0.0"),
+			new SimpleVersion ("2.1.0-SNAPSHOT")
+		);
+	}
+
+	/**
+	 * Tests sorting and deduplication.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void sort () throws VersionParserException {
+		VersionArray array = createArray ();
+
+		// verify
+		Assert.assertEquals (6, array.size ());
+		Assert.assertEquals (new SimpleVersion ("1.0.0"), array.first ());
+		Assert.assertEquals (new SimpleVersion ("1.2.0-RC-1"), array.get (1));
+		Assert.assertEquals (new SimpleVersion ("2.1.0-SNAPSHOT"), array.last ());
+		Assert.assertEquals (3, array.indexOf (new SimpleVersion ("1.5.3")));
+		Assert.assertFalse (array.contains (new SimpleVersion ("1.5.4")));
+	}
+
+	/**
+	 * Tests floor and ceiling lookups.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void floorCeiling () throws VersionParserException {
+		VersionArray array = createArray ();
+
+		// verify
+		Assert.assertEquals (new SimpleVersion ("1.2.0"), array.floor (new SimpleVersion ("1.4")));
+		Assert.assertEquals (new SimpleVersion ("1.5.3"), array.floor (new SimpleVersion ("1.5.3")));
+		Assert.assertNull (array.floor (new SimpleVersion ("0.9")));
+
+		Assert.assertEquals (new SimpleVersion ("1.5.3"), array.ceiling (new SimpleVersion ("1.4")));
+		Assert.assertEquals (new SimpleVersion ("1.2.0-RC-1"), array.ceiling (new SimpleVersion ("1.2.0-ALPHA")));
+		Assert.assertNull (array.ceiling (new SimpleVersion ("3.0")));
+	}
+
+	/**
+	 * Tests range lookups.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void range () throws VersionParserException {
+		VersionArray array = createArray ();
+
+		// verify
+		Assert.assertEquals (new SimpleVersion ("1.5.3"), array.latest (new SimpleVersionRange ("[1.2,2.0)")));
+		Assert.assertEquals (2, array.subRange (new SimpleVersionRange ("[1.2,2.0)")).size ());
+		Assert.assertEquals (2, array.subRange (new SimpleVersionRange ("(1.2,2.0]")).size ());
+		Assert.assertEquals (new SimpleVersion ("2.1.0-SNAPSHOT"), array.latest (new SimpleVersionRange ("1.5")));
+		Assert.assertNull (array.latest (new SimpleVersionRange ("(1.5.3,2.0.0)")));
+	}
+}
@@ -137,6 +137,48 @@ public class VersionConstructorTest {
 		Assert.assertFalse (parsedVersion.isReleaseCandidateBuild ());
 	}
 
+	/**
+	 * Tests the character sequence parser constructor.
+	 * @throws VersionParserException
+	 */
+	@Test
+	public void parserSequence () throws VersionParserException {
+		// create version instance
+		SimpleVersion parsedVersion = new SimpleVersion (new StringBuilder ("1.2.3.4.5-RC-3"));
+
+		// verify instance
+		Assert.assertEquals (1, parsedVersion.getMajor ());
+		Assert.assertEquals (2, parsedVersion.getMinor ());
+		Assert.assertEquals (3, parsedVersion.getMaintenance ());
+		Assert.assertEquals (4, parsedVersion.getBuild ());
+		Assert.assertEquals ("RC-3", parsedVersion.getExtra ());
+		Assert.assertEquals (3, parsedVersion.getUnstableVersion ());
+
+		// verify empty leading extra elements
+		Assert.assertEquals ("SNAPSHOT", new SimpleVersion ("1.0--SNAPSHOT").getExtra ());
+		Assert.assertEquals ("", new SimpleVersion ("1.0-").getExtra ());
+	}
+
+	/**
+	 * Tests the parser error messages.
+	 */
+	@Test
+	public void parserErrorMessages () {
+		try {
+			new SimpleVersion ("1.B.3");
+			Assert.fail ();
+		} catch (VersionParserException ex) {
+			Assert.assertEquals ("Found invalid version number in minor version bit: For input string: \"B\"", ex.getMessage ());
+		}
+
+		try {
+			new SimpleVersion ("1.B.3 ");
+			Assert.fail ();
+		} catch (VersionParserException ex) {
+			Assert.assertEquals ("Versions are not allowed to contain any whitespace characters.", ex.getMessage ());
+		}
+	}
+
 	/**
 	 * Tests the parser validation.
 	 * @throws VersionParserException
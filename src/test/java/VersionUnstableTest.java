@@ -1,4 +1,5 @@
 import com.evilco.version.SimpleVersion;
+import com.evilco.version.VersionQualifier;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -105,4 +106,24 @@ public class VersionUnstableTest {
 		Assert.assertFalse (version.isBetaBuild ());
 		Assert.assertTrue (version.isUnstableBuild ());
 	}
+
+	/**
+	 * Tests qualifier and unstable version detection.
+	 */
+	@Test
+	public void qualifier () {
+		// check qualifiers
+		Assert.assertEquals (VersionQualifier.STABLE, new SimpleVersion (1, 0, 0, 0, null).getQualifier ());
+		Assert.assertEquals (VersionQualifier.STABLE, new SimpleVersion (1, 0, 0, 0, "EXTRA").getQualifier ());
+		Assert.assertEquals (VersionQualifier.ALPHA, new SimpleVersion (1, 0, 0, 0, "alpha-2").getQualifier ());
+		Assert.assertEquals (VersionQualifier.BETA, new SimpleVersion (1, 0, 0, 0, "B").getQualifier ());
+		Assert.assertEquals (VersionQualifier.SNAPSHOT, new SimpleVersion (1, 0, 0, 0, "SNAPSHOT-TEST").getQualifier ());
+		Assert.assertEquals (VersionQualifier.RELEASE_CANDIDATE, new SimpleVersion (1, 0, 0, 0, "Rc-3").getQualifier ());
+
+		// check unstable versions
+		Assert.assertEquals (-1, new SimpleVersion (1, 0, 0, 0, "EXTRA-2").getUnstableVersion ());
+		Assert.assertEquals (0, new SimpleVersion (1, 0, 0, 0, "RC").getUnstableVersion ());
+		Assert.assertEquals (3, new SimpleVersion (1, 0, 0, 0, "RC-3").getUnstableVersion ());
+		Assert.assertEquals (0, new SimpleVersion (1, 0, 0, 0, "SNAPSHOT-TEST").getUnstableVersion ());
+	}
 }
\ No newline at end of file